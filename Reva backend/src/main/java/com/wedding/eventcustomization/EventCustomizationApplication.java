@@ -1,9 +1,12 @@
 package com.wedding.eventcustomization;
 
+import com.wedding.eventcustomization.config.NativeImageHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(NativeImageHints.class)
 public class EventCustomizationApplication {
 
     public static void main(String[] args) {
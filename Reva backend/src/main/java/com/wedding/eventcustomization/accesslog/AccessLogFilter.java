@@ -0,0 +1,122 @@
+package com.wedding.eventcustomization.accesslog;
+
+import com.wedding.eventcustomization.config.AccessLogProperties;
+import com.wedding.eventcustomization.sql.SqlStatementStats;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes one structured event per request to the {@value #LOGGER} logger, with the route,
+ * status, latency, SQL statements and request and response sizes as key-value pairs.
+ * <p>
+ * Errors (status 400 and above, or an exception) and requests slower than
+ * {@code app.access-log.slow-threshold} are always logged, other requests are sampled at
+ * {@code app.access-log.success-sample-rate}. Sampling is decided before the event is built,
+ * so a request that is not logged costs a random number. Streamed responses are logged when
+ * their async processing completes, so the latency and size cover the whole body.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@EnableConfigurationProperties(AccessLogProperties.class)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER = "access";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER);
+
+    private final AccessLogProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } catch (IOException | ServletException | RuntimeException e) {
+            log(request, countingResponse, start, e);
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    log(request, countingResponse, start, event.getThrowable());
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            log(request, countingResponse, start, null);
+        }
+    }
+
+    private void log(HttpServletRequest request, CountingResponseWrapper response, long start, Throwable failure) {
+        long elapsedNanos = System.nanoTime() - start;
+        int status = failure != null && response.getStatus() < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        boolean error = failure != null || status >= 400;
+        boolean sampled = !error && elapsedNanos < properties.getSlowThreshold().toNanos();
+        if (sampled && !inSample()) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var event = log.atLevel(status >= 500 ? Level.WARN : Level.INFO)
+                .setMessage("request")
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", pattern != null ? pattern : "UNKNOWN")
+                .addKeyValue("status", status)
+                .addKeyValue("duration_ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        if (request.getAttribute(SqlStatementStats.ATTRIBUTE) instanceof SqlStatementStats stats) {
+            event = event.addKeyValue("sql_statements", stats.getStatements())
+                    .addKeyValue("sql_ms", stats.getElapsedMillis());
+        }
+        event = event.addKeyValue("request_bytes", Math.max(request.getContentLengthLong(), 0))
+                .addKeyValue("response_bytes", response.getBytesWritten());
+        if (sampled) {
+            event = event.addKeyValue("sample_rate", properties.getSuccessSampleRate());
+        }
+        if (failure != null) {
+            event = event.addKeyValue("error", failure.getClass().getName());
+        }
+        event.log();
+    }
+
+    private boolean inSample() {
+        double rate = properties.getSuccessSampleRate();
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,112 @@
+package com.wedding.eventcustomization.concurrency;
+
+import com.wedding.eventcustomization.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows latency, after the gradient limiters of Netflix's
+ * concurrency-limits.
+ * <p>
+ * Completed requests are averaged in samples of {@code sample-size}. Each sample is compared
+ * with a slow moving long-term average: while recent latency stays within {@code tolerance} of
+ * it the limit grows by about its square root, once requests start queueing behind the database
+ * pool the gradient between the two pulls the limit down, by half at most per sample. Server
+ * errors cut the limit by {@code backoff-ratio} straight away. The limit does not grow while
+ * less than half of it is in use, so a quiet period does not leave it wide open.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Samples the long-term latency averages over
+    private static final int LONG_WINDOW = 100;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int sampleSize;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    private int sampleCount;
+    private long sampleNanos;
+    private int sampleMaxInFlight;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(ConcurrencyLimitProperties.Limit bounds, ConcurrencyLimitProperties properties) {
+        this.minLimit = bounds.getMinLimit();
+        this.maxLimit = bounds.getMaxLimit();
+        this.tolerance = properties.getTolerance();
+        this.smoothing = properties.getSmoothing();
+        this.sampleSize = properties.getSampleSize();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, bounds.getInitialLimit()));
+    }
+
+    /**
+     * Takes a slot, or returns false without waiting when the limit is reached. A slot taken
+     * must be given back through exactly one of the {@code on*} methods.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /** The request completed, its latency counts towards the limit. */
+    public synchronized void onSuccess(long rttNanos) {
+        sampleMaxInFlight = Math.max(sampleMaxInFlight, inFlight.getAndDecrement());
+        sampleNanos += rttNanos;
+        if (++sampleCount >= sampleSize) {
+            update(sampleNanos / (double) sampleCount, sampleMaxInFlight);
+            sampleCount = 0;
+            sampleNanos = 0;
+            sampleMaxInFlight = 0;
+        }
+    }
+
+    /** The request failed with a server error, which is taken as a sign of overload. */
+    public synchronized void onDropped() {
+        inFlight.decrementAndGet();
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    /** The request failed for reasons unrelated to load, e.g. a bad request; it is not sampled. */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void update(double shortRttNanos, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) / LONG_WINDOW;
+        }
+        // Latency recovered well below the long-term average, let the average catch up
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
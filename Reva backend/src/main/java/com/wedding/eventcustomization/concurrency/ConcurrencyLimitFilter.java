@@ -0,0 +1,189 @@
+package com.wedding.eventcustomization.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedding.eventcustomization.config.ConcurrencyLimitProperties;
+import com.wedding.eventcustomization.dto.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Caps the concurrent {@code /api/v1} requests with an {@link AdaptiveConcurrencyLimit} per
+ * group: catalog reads, writes and PDF generation. A request over the limit of its group is
+ * rejected straight away with 503 and {@code Retry-After}, instead of waiting on Tomcat's
+ * threads and the connection pool until everything times out.
+ * <p>
+ * Each limit is exported as {@code http.server.requests.concurrency.limit}, next to
+ * {@code http.server.requests.concurrency.in.flight} and the
+ * {@code http.server.requests.concurrency.rejected} counter, all tagged by {@code group}.
+ * Streamed responses hold their slot until the async processing completes, but their latency
+ * is sampled when the handler returns, so a slow client does not read as a slow server.
+ * Requests shed by a downstream bulkhead ({@link #markShed}) are not sampled: their 503 is
+ * the bulkhead already limiting load, not a sign of overload.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum Group {
+        READS, WRITES, PDF
+    }
+
+    private static final String API_PREFIX = "/api/v1/";
+    private static final String PDF_PREFIX = "/api/v1/pdf";
+    private static final String SHED_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".SHED";
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<Group, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Group.class);
+    private final Map<Group, Counter> rejections = new EnumMap<>(Group.class);
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        register(Group.READS, properties.getReads(), meterRegistry);
+        register(Group.WRITES, properties.getWrites(), meterRegistry);
+        register(Group.PDF, properties.getPdf(), meterRegistry);
+    }
+
+    public AdaptiveConcurrencyLimit getLimit(Group group) {
+        return limits.get(group);
+    }
+
+    /**
+     * Records that the request was rejected by a bulkhead further in, so its response does
+     * not count as a dropped request.
+     */
+    public static void markShed(HttpServletRequest request) {
+        request.setAttribute(SHED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !path(request).startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = group(request);
+        AdaptiveConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            reject(group, limit, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (isShed(request)) {
+                limit.onIgnored();
+            } else {
+                limit.onDropped();
+            }
+            throw e;
+        }
+        long rttNanos = System.nanoTime() - start;
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    release(limit, request, response, rttNanos, event.getThrowable() != null);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            release(limit, request, response, rttNanos, false);
+        }
+    }
+
+    private static void release(AdaptiveConcurrencyLimit limit, HttpServletRequest request, HttpServletResponse response,
+                                long rttNanos, boolean failed) {
+        if (isShed(request)) {
+            limit.onIgnored();
+        } else if (failed || response.getStatus() >= 500) {
+            limit.onDropped();
+        } else if (response.getStatus() >= 400) {
+            limit.onIgnored();
+        } else {
+            limit.onSuccess(rttNanos);
+        }
+    }
+
+    private static boolean isShed(HttpServletRequest request) {
+        return request.getAttribute(SHED_ATTRIBUTE) != null;
+    }
+
+    private void reject(Group group, AdaptiveConcurrencyLimit limit, HttpServletResponse response) throws IOException {
+        rejections.get(group).increment();
+        log.debug("Rejecting {} request: {} in flight at a limit of {}", group, limit.getInFlight(), limit.getLimit());
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Too many concurrent requests, please retry later", "SERVICE_OVERLOADED"));
+    }
+
+    private static Group group(HttpServletRequest request) {
+        if (path(request).startsWith(PDF_PREFIX)) {
+            return Group.PDF;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? Group.READS : Group.WRITES;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void register(Group group, ConcurrencyLimitProperties.Limit bounds, MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(bounds, properties);
+        String tag = group.name().toLowerCase(Locale.ROOT);
+        limits.put(group, limit);
+        Gauge.builder("http.server.requests.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Concurrent API requests allowed, adjusted to latency")
+                .tag("group", tag)
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("API requests currently holding a concurrency slot")
+                .tag("group", tag)
+                .register(meterRegistry);
+        rejections.put(group, Counter.builder("http.server.requests.concurrency.rejected")
+                .description("API requests rejected over the concurrency limit")
+                .tag("group", tag)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,18 @@
+package com.wedding.eventcustomization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    /** Logs one structured event per request to the {@code access} logger. */
+    private boolean enabled = true;
+    /** Share of successful requests logged, 1.0 logs all of them. Errors are always logged. */
+    private double successSampleRate = 0.01;
+    /** Requests taking at least this long are always logged. */
+    private Duration slowThreshold = Duration.ofSeconds(1);
+}
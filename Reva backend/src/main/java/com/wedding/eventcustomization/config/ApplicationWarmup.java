@@ -0,0 +1,162 @@
+package com.wedding.eventcustomization.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wedding.eventcustomization.dto.ApiResponse;
+import com.wedding.eventcustomization.dto.DecorationImageDto;
+import com.wedding.eventcustomization.dto.DecorationTypeDto;
+import com.wedding.eventcustomization.dto.EventDto;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.pdf.BrochureSection;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import com.wedding.eventcustomization.pdf.PdfRenderer;
+import com.wedding.eventcustomization.service.DecorationImageCatalog;
+import com.wedding.eventcustomization.service.DecorationImageService;
+import com.wedding.eventcustomization.service.DecorationTypeService;
+import com.wedding.eventcustomization.service.EventService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the hot paths before the instance takes traffic, so the first requests after a rollout
+ * do not pay for cold JIT code and empty caches.
+ * <p>
+ * Spring Boot only reports readiness as {@code ACCEPTING_TRAFFIC} after the
+ * {@link ApplicationReadyEvent} listeners have returned, and this one holds it back while it
+ * preloads the {@link DecorationImageCatalog}, reads the catalog through the services
+ * {@code app.warmup.iterations} times, serializing every result as its JSON response, and
+ * renders {@code app.warmup.pdf-renders} small brochures from the bundled placeholder image.
+ * It gives up after {@code app.warmup.timeout}; a failure is logged and never keeps the
+ * instance from becoming ready. The time taken is published as {@value #METRIC}.
+ */
+@Component
+@EnableConfigurationProperties(WarmupProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationWarmup {
+
+    public static final String METRIC = "application.warmup.time";
+
+    private static final int PDF_IMAGES = 3;
+
+    private final WarmupProperties properties;
+    private final PdfProperties pdfProperties;
+    private final EventService eventService;
+    private final DecorationTypeService decorationTypeService;
+    private final DecorationImageService decorationImageService;
+    private final DecorationImageCatalog decorationImageCatalog;
+    private final List<PdfRenderer> renderers;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeout().toNanos();
+        int cached = 0;
+        int passes = 0;
+        int renders = 0;
+        try {
+            cached = decorationImageCatalog.preload();
+            while (passes < properties.getIterations() && System.nanoTime() - deadline < 0) {
+                readCatalog(passes++);
+            }
+            PdfRenderer renderer = renderer();
+            PdfGenerationRequest request = brochureRequest();
+            while (renders < properties.getPdfRenders() && System.nanoTime() - deadline < 0) {
+                renderer.render(request, BrochureSection.whole(request), LocalDateTime.now(), OutputStream.nullOutputStream());
+                renders++;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm-up failed, continuing cold: {}", e.toString());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        TimeGauge.builder(METRIC, () -> elapsedNanos, TimeUnit.NANOSECONDS)
+                .description("Time taken to warm up the application before it accepts traffic")
+                .register(meterRegistry);
+        log.info("Warmed up in {} ms: {} catalog images cached, {} catalog passes, {} PDF renders",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), cached, passes, renders);
+    }
+
+    /**
+     * One pass over the catalog reads a client makes while browsing, each pass picking the
+     * next event, decoration type and image.
+     */
+    private void readCatalog(int pass) throws IOException {
+        List<EventDto> events = eventService.getAllEvents();
+        serialize(events);
+        if (events.isEmpty()) {
+            return;
+        }
+        EventDto event = events.get(pass % events.size());
+        serialize(eventService.getEventById(event.getId()));
+        serialize(eventService.searchEvents(event.getName().substring(0, Math.min(3, event.getName().length()))));
+
+        List<DecorationTypeDto> decorationTypes = decorationTypeService.getDecorationTypesByEventId(event.getId());
+        serialize(decorationTypes);
+        if (decorationTypes.isEmpty()) {
+            return;
+        }
+        DecorationTypeDto decorationType = decorationTypes.get(pass % decorationTypes.size());
+        serialize(decorationTypeService.getDecorationTypeById(decorationType.getId()));
+
+        List<DecorationImageDto> images = decorationImageService.getDecorationImagesByDecorationTypeId(decorationType.getId());
+        serialize(images);
+        if (!images.isEmpty()) {
+            serialize(decorationImageService.getDecorationImageById(images.get(pass % images.size()).getId()));
+        }
+    }
+
+    private void serialize(Object data) throws IOException {
+        objectMapper.writeValueAsBytes(ApiResponse.success(data));
+    }
+
+    private PdfRenderer renderer() {
+        return renderers.stream()
+                .filter(renderer -> renderer.engine() == pdfProperties.getDefaultEngine())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No renderer for " + pdfProperties.getDefaultEngine()));
+    }
+
+    private static PdfGenerationRequest brochureRequest() throws IOException {
+        String imageUrl = new ClassPathResource(PdfImageFetcher.PLACEHOLDER_RESOURCE).getURL().toString();
+        List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>();
+        for (int i = 0; i < PDF_IMAGES; i++) {
+            images.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId(1L)
+                    .stageName("Warm-up")
+                    .imageId((long) i)
+                    .imageName("Warm-up image " + i)
+                    .imageUrl(imageUrl)
+                    .description("Rendered before the application accepts traffic")
+                    .build());
+        }
+        return PdfGenerationRequest.builder()
+                .eventId(0L)
+                .eventName("Warm-up")
+                .selectedImages(images)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.wedding.eventcustomization.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /** Limits concurrent /api/v1 requests, rejecting the excess with 503. */
+    private boolean enabled = true;
+    /** Catalog reads, every GET outside /api/v1/pdf. */
+    private final Limit reads = new Limit(40, 10, 200);
+    /** Creates, updates and deletes outside /api/v1/pdf. */
+    private final Limit writes = new Limit(10, 2, 50);
+    /** Everything under /api/v1/pdf, on top of the render bulkhead. */
+    private final Limit pdf = new Limit(16, 4, 64);
+    /** How far the recent latency may exceed the long-term latency before the limit shrinks. */
+    private double tolerance = 1.5;
+    /** Weight of each new estimate in the limit, lower reacts slower but steadier. */
+    private double smoothing = 0.2;
+    /** Completed requests per latency sample; the limit is only adjusted once per sample. */
+    private int sampleSize = 20;
+    /** Factor the limit is cut by when a request fails with a server error. */
+    private double backoffRatio = 0.9;
+    /** Retry-After sent with a rejection. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+    }
+}
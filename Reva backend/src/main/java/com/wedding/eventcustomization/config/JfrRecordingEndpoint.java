@@ -0,0 +1,126 @@
+package com.wedding.eventcustomization.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Short Flight Recorder recordings on demand, to see where a slow brochure spent its time.
+ * <p>
+ * {@code POST /actuator/jfr} starts a recording with the JDK's {@code profile} (or
+ * {@code default}) settings that stops by itself after {@code durationSeconds}; starting
+ * another discards the previous one. {@code GET /actuator/jfr} downloads it as a
+ * {@code .jfr} file, running or not, and {@code DELETE /actuator/jfr} discards it. The PDF
+ * pipeline's own events are under the "Wedding / PDF" category.
+ * <p>
+ * Recordings leave out the process environment, system properties and JVM arguments, which
+ * carry the datasource credentials. The endpoint is still off unless a profile enables it
+ * with {@code management.endpoint.jfr.enabled}; prod does, on the management port only.
+ */
+@Component
+@Endpoint(id = "jfr", enableByDefault = false)
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final int DEFAULT_DURATION_SECONDS = 60;
+    private static final int MAX_DURATION_SECONDS = 600;
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final Set<String> SECRET_EVENTS = Set.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    private Recording recording;
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Integer durationSeconds, @Nullable String settings)
+            throws IOException, ParseException {
+        int seconds = durationSeconds != null ? durationSeconds : DEFAULT_DURATION_SECONDS;
+        if (seconds < 1 || seconds > MAX_DURATION_SECONDS) {
+            throw new InvalidEndpointRequestException("durationSeconds must be between 1 and " + MAX_DURATION_SECONDS,
+                    "Invalid durationSeconds");
+        }
+        String configuration = settings != null ? settings : "profile";
+        if (!SETTINGS.contains(configuration)) {
+            throw new InvalidEndpointRequestException("settings must be one of " + SETTINGS, "Invalid settings");
+        }
+
+        discard();
+        recording = new Recording(Configuration.getConfiguration(configuration));
+        recording.setName("on-demand");
+        SECRET_EVENTS.forEach(recording::disable);
+        recording.setToDisk(true);
+        recording.setDuration(Duration.ofSeconds(seconds));
+        recording.start();
+        log.info("Started {}s JFR recording with {} settings", seconds, configuration);
+        return status();
+    }
+
+    @ReadOperation
+    public synchronized Resource dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        Path file = Files.createTempFile("on-demand-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new DumpResource(file);
+    }
+
+    @DeleteOperation
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        return status;
+    }
+
+    /**
+     * Streams the dump from disk and deletes it once the download has been read.
+     */
+    private static final class DumpResource extends FileSystemResource {
+
+        DumpResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+}
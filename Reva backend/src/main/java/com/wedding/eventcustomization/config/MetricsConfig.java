@@ -0,0 +1,22 @@
+package com.wedding.eventcustomization.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Times every public method of the classes annotated with {@code @Timed}, published as
+ * {@value #SERVICE_TIMER} with {@code class} and {@code method} tags. Histogram buckets and
+ * SLO boundaries for it and for {@code http.server.requests} are set in application.yml.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "service.method";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
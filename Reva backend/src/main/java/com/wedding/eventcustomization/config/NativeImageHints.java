@@ -0,0 +1,65 @@
+package com.wedding.eventcustomization.config;
+
+import com.wedding.eventcustomization.dto.ApiResponse;
+import com.wedding.eventcustomization.dto.DecorationImageDto;
+import com.wedding.eventcustomization.dto.DecorationTypeDto;
+import com.wedding.eventcustomization.dto.EventDto;
+import com.wedding.eventcustomization.dto.ImageDto;
+import com.wedding.eventcustomization.dto.PdfBatchRequest;
+import com.wedding.eventcustomization.dto.PdfDownloadLink;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.dto.StageDto;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.DecorationType;
+import com.wedding.eventcustomization.entity.Event;
+import com.wedding.eventcustomization.entity.Image;
+import com.wedding.eventcustomization.entity.Stage;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for the native image ({@code mvn -Pnative package}) beyond what Spring
+ * AOT derives from the bean definitions and controller signatures.
+ * <p>
+ * The entities are read by Hibernate and, for the seed catalog, bound by Jackson through their
+ * Lombok accessors; the DTOs travel inside generic {@link ApiResponse} bodies that AOT cannot
+ * always see through. iText finds its standard font metrics, shipped fonts and default
+ * stylesheets on the class path at runtime, so those are included as resources.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> ENTITIES = List.of(
+            Event.class, DecorationType.class, DecorationImage.class, Stage.class, Image.class);
+
+    private static final List<Class<?>> PAYLOADS = List.of(
+            ApiResponse.class, EventDto.class, DecorationTypeDto.class, DecorationImageDto.class, StageDto.class,
+            ImageDto.class, PdfGenerationRequest.class, PdfGenerationRequest.SelectedImage.class,
+            PdfBatchRequest.class, PdfDownloadLink.class);
+
+    private static final List<String> RESOURCES = List.of(
+            "seed/catalog.json",
+            "templates/pdf/*",
+            PdfImageFetcher.PLACEHOLDER_RESOURCE,
+            "com/itextpdf/io/font/AdobeGlyphList.txt",
+            "com/itextpdf/io/font/afm/*.afm",
+            "com/itextpdf/html2pdf/default.css",
+            "com/itextpdf/html2pdf/font/*.ttf",
+            "com/itextpdf/svg/default.css");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity, MemberCategory.values());
+        }
+        bindingRegistrar.registerReflectionHints(hints.reflection(), ENTITIES.toArray(Class<?>[]::new));
+        bindingRegistrar.registerReflectionHints(hints.reflection(), PAYLOADS.toArray(Class<?>[]::new));
+        RESOURCES.forEach(hints.resources()::registerPattern);
+    }
+}
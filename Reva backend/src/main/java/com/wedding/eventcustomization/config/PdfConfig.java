@@ -0,0 +1,9 @@
+package com.wedding.eventcustomization.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PdfProperties.class)
+public class PdfConfig {
+}
@@ -0,0 +1,107 @@
+package com.wedding.eventcustomization.config;
+
+import com.wedding.eventcustomization.pdf.PdfRenderEngine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.pdf")
+public class PdfProperties {
+    
+    private PdfRenderEngine defaultEngine = PdfRenderEngine.HTML;
+    private boolean compactOutput;
+    private int catalogCacheEntries = 10_000;
+    private final Cache cache = new Cache();
+    private final Fragments fragments = new Fragments();
+    private final Bulkhead bulkhead = new Bulkhead();
+    private final RenderPool renderPool = new RenderPool();
+    private final Batch batch = new Batch();
+    private final Sections sections = new Sections();
+    private final Spool spool = new Spool();
+    private final Artifacts artifacts = new Artifacts();
+    private final Brochures brochures = new Brochures();
+    private final Images images = new Images();
+    private final Idempotency idempotency = new Idempotency();
+    
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private DataSize maxMemorySize = DataSize.ofMegabytes(64);
+        private String diskDirectory;
+        private DataSize maxDiskSize = DataSize.ofMegabytes(512);
+    }
+    
+    @Data
+    public static class Fragments {
+        private DataSize maxMemorySize = DataSize.ofMegabytes(32);
+    }
+    
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentRenders = Runtime.getRuntime().availableProcessors();
+        private int maxQueuedRenders = 16;
+        private Duration maxQueueWait = Duration.ofSeconds(10);
+        private Duration retryAfter = Duration.ofSeconds(5);
+        private int rejectionStatus = 503;
+    }
+    
+    @Data
+    public static class RenderPool {
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 64;
+    }
+    
+    @Data
+    public static class Batch {
+        private int maxDocuments = 10;
+    }
+    
+    @Data
+    public static class Spool {
+        private DataSize threshold = DataSize.ofMegabytes(4);
+        private String directory;
+        private DataSize maxDiskSize = DataSize.ofGigabytes(1);
+        private Duration abandonedAfter = Duration.ofMinutes(15);
+    }
+    
+    @Data
+    public static class Artifacts {
+        private String directory;
+        private Duration ttl = Duration.ofMinutes(15);
+        private DataSize maxDiskSize = DataSize.ofGigabytes(1);
+        private int maxLinks = 10_000;
+    }
+    
+    @Data
+    public static class Brochures {
+        private boolean enabled = true;
+        private String directory;
+        private Duration debounce = Duration.ofSeconds(5);
+    }
+    
+    @Data
+    public static class Images {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private DataSize maxSize = DataSize.ofMegabytes(10);
+        private int failureThreshold = 3;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+    
+    @Data
+    public static class Idempotency {
+        private Duration replayWindow = Duration.ofMinutes(10);
+        private int maxEntries = 10_000;
+        private DataSize maxMemorySize = DataSize.ofMegabytes(64);
+    }
+    
+    @Data
+    public static class Sections {
+        /** Selections with at least this many images render in parallel sections; 0 disables. */
+        private int threshold = 60;
+        private int maxImagesPerSection = 24;
+    }
+}
@@ -0,0 +1,16 @@
+package com.wedding.eventcustomization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "app.sql")
+public class SqlProperties {
+    
+    /** Adds X-SQL-Statement-Count and X-SQL-Time-Ms to JSON responses. */
+    private boolean responseHeaders = false;
+    /** Records statements and database time per request as metrics. */
+    private boolean metrics = true;
+    /** Requests running more statements than this are logged as likely N+1 queries. */
+    private int warnThreshold = 20;
+}
@@ -0,0 +1,20 @@
+package com.wedding.eventcustomization.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    /** Warms up the application before the readiness probe reports it accepting traffic. */
+    private boolean enabled = true;
+    /** Passes over the catalog read paths, each serialized as its JSON response. */
+    private int iterations = 100;
+    /** Brochures rendered from a bundled image, no image host is contacted. */
+    private int pdfRenders = 5;
+    /** The warm-up stops early after this long, readiness is never held back longer. */
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -1,15 +1,21 @@
 package com.wedding.eventcustomization.config;
 
+import com.wedding.eventcustomization.service.EventBrochureService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.nio.file.Paths;
+
 @Configuration
 public class WebConfig {
     
     @Bean
-    public WebMvcConfigurer corsConfigurer() {
+    public WebMvcConfigurer corsConfigurer(PdfProperties pdfProperties) {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
@@ -19,6 +25,17 @@ public class WebConfig {
                         .allowedHeaders("*")
                         .maxAge(3600);
             }
+            
+            @Override
+            public void addResourceHandlers(ResourceHandlerRegistry registry) {
+                // Pre-rendered catalog brochures; clients revalidate against Last-Modified
+                PdfProperties.Brochures brochures = pdfProperties.getBrochures();
+                if (brochures.isEnabled() && StringUtils.hasText(brochures.getDirectory())) {
+                    registry.addResourceHandler(EventBrochureService.URL_PATH + "**")
+                            .addResourceLocations(Paths.get(brochures.getDirectory()).toUri() + "/")
+                            .setCacheControl(CacheControl.noCache());
+                }
+            }
         };
     }
 }
@@ -27,7 +27,7 @@ public class DecorationImageController {
     @Operation(summary = "Get all decoration images", description = "Retrieve all active decoration images")
     public ResponseEntity<ApiResponse<List<DecorationImageDto>>> getAllDecorationImages() {
         try {
-            log.info("Getting all decoration images");
+            log.debug("Getting all decoration images");
             List<DecorationImageDto> decorationImages = decorationImageService.getAllDecorationImages();
             return ResponseEntity.ok(ApiResponse.success("Decoration images retrieved successfully", decorationImages));
         } catch (Exception e) {
@@ -41,7 +41,7 @@ public class DecorationImageController {
     @Operation(summary = "Get decoration images by decoration type", description = "Retrieve all decoration images for a specific decoration type")
     public ResponseEntity<ApiResponse<List<DecorationImageDto>>> getDecorationImagesByDecorationTypeId(@PathVariable Long decorationTypeId) {
         try {
-            log.info("Getting decoration images for decoration type ID: {}", decorationTypeId);
+            log.debug("Getting decoration images for decoration type ID: {}", decorationTypeId);
             List<DecorationImageDto> decorationImages = decorationImageService.getDecorationImagesByDecorationTypeId(decorationTypeId);
             return ResponseEntity.ok(ApiResponse.success("Decoration images retrieved successfully", decorationImages));
         } catch (Exception e) {
@@ -55,7 +55,7 @@ public class DecorationImageController {
     @Operation(summary = "Get decoration image by ID", description = "Retrieve a specific decoration image by its ID")
     public ResponseEntity<ApiResponse<DecorationImageDto>> getDecorationImageById(@PathVariable Long id) {
         try {
-            log.info("Getting decoration image with ID: {}", id);
+            log.debug("Getting decoration image with ID: {}", id);
             DecorationImageDto decorationImage = decorationImageService.getDecorationImageById(id);
             return ResponseEntity.ok(ApiResponse.success("Decoration image retrieved successfully", decorationImage));
         } catch (Exception e) {
@@ -69,7 +69,7 @@ public class DecorationImageController {
     @Operation(summary = "Create decoration image", description = "Create a new decoration image")
     public ResponseEntity<ApiResponse<DecorationImageDto>> createDecorationImage(@Valid @RequestBody DecorationImageDto decorationImageDto) {
         try {
-            log.info("Creating decoration image: {}", decorationImageDto.getName());
+            log.debug("Creating decoration image: {}", decorationImageDto.getName());
             DecorationImageDto createdDecorationImage = decorationImageService.createDecorationImage(decorationImageDto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Decoration image created successfully", createdDecorationImage));
@@ -84,7 +84,7 @@ public class DecorationImageController {
     @Operation(summary = "Update decoration image", description = "Update an existing decoration image")
     public ResponseEntity<ApiResponse<DecorationImageDto>> updateDecorationImage(@PathVariable Long id, @Valid @RequestBody DecorationImageDto decorationImageDto) {
         try {
-            log.info("Updating decoration image with ID: {}", id);
+            log.debug("Updating decoration image with ID: {}", id);
             DecorationImageDto updatedDecorationImage = decorationImageService.updateDecorationImage(id, decorationImageDto);
             return ResponseEntity.ok(ApiResponse.success("Decoration image updated successfully", updatedDecorationImage));
         } catch (Exception e) {
@@ -98,7 +98,7 @@ public class DecorationImageController {
     @Operation(summary = "Delete decoration image", description = "Soft delete a decoration image")
     public ResponseEntity<ApiResponse<Void>> deleteDecorationImage(@PathVariable Long id) {
         try {
-            log.info("Deleting decoration image with ID: {}", id);
+            log.debug("Deleting decoration image with ID: {}", id);
             decorationImageService.deleteDecorationImage(id);
             return ResponseEntity.ok(ApiResponse.success("Decoration image deleted successfully", null));
         } catch (Exception e) {
@@ -27,7 +27,7 @@ public class DecorationTypeController {
     @Operation(summary = "Get all decoration types", description = "Retrieve all active decoration types")
     public ResponseEntity<ApiResponse<List<DecorationTypeDto>>> getAllDecorationTypes() {
         try {
-            log.info("Getting all decoration types");
+            log.debug("Getting all decoration types");
             List<DecorationTypeDto> decorationTypes = decorationTypeService.getAllDecorationTypes();
             return ResponseEntity.ok(ApiResponse.success("Decoration types retrieved successfully", decorationTypes));
         } catch (Exception e) {
@@ -41,7 +41,7 @@ public class DecorationTypeController {
     @Operation(summary = "Get decoration types by event", description = "Retrieve all decoration types for a specific event")
     public ResponseEntity<ApiResponse<List<DecorationTypeDto>>> getDecorationTypesByEventId(@PathVariable Long eventId) {
         try {
-            log.info("Getting decoration types for event ID: {}", eventId);
+            log.debug("Getting decoration types for event ID: {}", eventId);
             List<DecorationTypeDto> decorationTypes = decorationTypeService.getDecorationTypesByEventId(eventId);
             return ResponseEntity.ok(ApiResponse.success("Decoration types retrieved successfully", decorationTypes));
         } catch (Exception e) {
@@ -55,7 +55,7 @@ public class DecorationTypeController {
     @Operation(summary = "Get decoration type by ID", description = "Retrieve a specific decoration type by its ID")
     public ResponseEntity<ApiResponse<DecorationTypeDto>> getDecorationTypeById(@PathVariable Long id) {
         try {
-            log.info("Getting decoration type with ID: {}", id);
+            log.debug("Getting decoration type with ID: {}", id);
             DecorationTypeDto decorationType = decorationTypeService.getDecorationTypeById(id);
             return ResponseEntity.ok(ApiResponse.success("Decoration type retrieved successfully", decorationType));
         } catch (Exception e) {
@@ -69,7 +69,7 @@ public class DecorationTypeController {
     @Operation(summary = "Create decoration type", description = "Create a new decoration type")
     public ResponseEntity<ApiResponse<DecorationTypeDto>> createDecorationType(@Valid @RequestBody DecorationTypeDto decorationTypeDto) {
         try {
-            log.info("Creating decoration type: {}", decorationTypeDto.getName());
+            log.debug("Creating decoration type: {}", decorationTypeDto.getName());
             DecorationTypeDto createdDecorationType = decorationTypeService.createDecorationType(decorationTypeDto);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Decoration type created successfully", createdDecorationType));
@@ -84,7 +84,7 @@ public class DecorationTypeController {
     @Operation(summary = "Update decoration type", description = "Update an existing decoration type")
     public ResponseEntity<ApiResponse<DecorationTypeDto>> updateDecorationType(@PathVariable Long id, @Valid @RequestBody DecorationTypeDto decorationTypeDto) {
         try {
-            log.info("Updating decoration type with ID: {}", id);
+            log.debug("Updating decoration type with ID: {}", id);
             DecorationTypeDto updatedDecorationType = decorationTypeService.updateDecorationType(id, decorationTypeDto);
             return ResponseEntity.ok(ApiResponse.success("Decoration type updated successfully", updatedDecorationType));
         } catch (Exception e) {
@@ -98,7 +98,7 @@ public class DecorationTypeController {
     @Operation(summary = "Delete decoration type", description = "Soft delete a decoration type")
     public ResponseEntity<ApiResponse<Void>> deleteDecorationType(@PathVariable Long id) {
         try {
-            log.info("Deleting decoration type with ID: {}", id);
+            log.debug("Deleting decoration type with ID: {}", id);
             decorationTypeService.deleteDecorationType(id);
             return ResponseEntity.ok(ApiResponse.success("Decoration type deleted successfully", null));
         } catch (Exception e) {
@@ -32,7 +32,7 @@ public class EventController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ApiResponse<List<EventDto>>> getAllEvents() {
-        log.info("Received request to get all events");
+        log.debug("Received request to get all events");
         List<EventDto> events = eventService.getAllEvents();
         return ResponseEntity.ok(ApiResponse.success("Events retrieved successfully", events));
     }
@@ -46,7 +46,7 @@ public class EventController {
     })
     public ResponseEntity<ApiResponse<EventDto>> getEventById(
             @Parameter(description = "Event ID", required = true) @PathVariable Long id) {
-        log.info("Received request to get event by id: {}", id);
+        log.debug("Received request to get event by id: {}", id);
         EventDto event = eventService.getEventById(id);
         return ResponseEntity.ok(ApiResponse.success("Event retrieved successfully", event));
     }
@@ -61,7 +61,7 @@ public class EventController {
     })
     public ResponseEntity<ApiResponse<EventDto>> createEvent(
             @Valid @RequestBody EventDto eventDto) {
-        log.info("Received request to create event: {}", eventDto.getName());
+        log.debug("Received request to create event: {}", eventDto.getName());
         EventDto createdEvent = eventService.createEvent(eventDto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Event created successfully", createdEvent));
@@ -79,7 +79,7 @@ public class EventController {
     public ResponseEntity<ApiResponse<EventDto>> updateEvent(
             @Parameter(description = "Event ID", required = true) @PathVariable Long id,
             @Valid @RequestBody EventDto eventDto) {
-        log.info("Received request to update event with id: {}", id);
+        log.debug("Received request to update event with id: {}", id);
         EventDto updatedEvent = eventService.updateEvent(id, eventDto);
         return ResponseEntity.ok(ApiResponse.success("Event updated successfully", updatedEvent));
     }
@@ -93,7 +93,7 @@ public class EventController {
     })
     public ResponseEntity<ApiResponse<Void>> deleteEvent(
             @Parameter(description = "Event ID", required = true) @PathVariable Long id) {
-        log.info("Received request to delete event with id: {}", id);
+        log.debug("Received request to delete event with id: {}", id);
         eventService.deleteEvent(id);
         return ResponseEntity.ok(ApiResponse.success("Event deleted successfully", null));
     }
@@ -107,7 +107,7 @@ public class EventController {
     })
     public ResponseEntity<ApiResponse<List<EventDto>>> searchEvents(
             @Parameter(description = "Event name to search for") @RequestParam String name) {
-        log.info("Received request to search events with name: {}", name);
+        log.debug("Received request to search events with name: {}", name);
         List<EventDto> events = eventService.searchEvents(name);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", events));
     }
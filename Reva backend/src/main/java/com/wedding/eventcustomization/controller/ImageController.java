@@ -34,7 +34,7 @@ public class ImageController {
     })
     public ResponseEntity<ApiResponse<List<ImageDto>>> getImagesByStageId(
             @Parameter(description = "Stage ID", required = true) @PathVariable Long stageId) {
-        log.info("Received request to get images for stage id: {}", stageId);
+        log.debug("Received request to get images for stage id: {}", stageId);
         List<ImageDto> images = imageService.getAllImagesByStageId(stageId);
         return ResponseEntity.ok(ApiResponse.success("Images retrieved successfully", images));
     }
@@ -48,7 +48,7 @@ public class ImageController {
     })
     public ResponseEntity<ApiResponse<ImageDto>> getImageById(
             @Parameter(description = "Image ID", required = true) @PathVariable Long id) {
-        log.info("Received request to get image by id: {}", id);
+        log.debug("Received request to get image by id: {}", id);
         ImageDto image = imageService.getImageById(id);
         return ResponseEntity.ok(ApiResponse.success("Image retrieved successfully", image));
     }
@@ -64,7 +64,7 @@ public class ImageController {
     })
     public ResponseEntity<ApiResponse<ImageDto>> createImage(
             @Valid @RequestBody ImageDto imageDto) {
-        log.info("Received request to create image: {} for stage id: {}", imageDto.getName(), imageDto.getStageId());
+        log.debug("Received request to create image: {} for stage id: {}", imageDto.getName(), imageDto.getStageId());
         ImageDto createdImage = imageService.createImage(imageDto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Image created successfully", createdImage));
@@ -82,7 +82,7 @@ public class ImageController {
     public ResponseEntity<ApiResponse<ImageDto>> updateImage(
             @Parameter(description = "Image ID", required = true) @PathVariable Long id,
             @Valid @RequestBody ImageDto imageDto) {
-        log.info("Received request to update image with id: {}", id);
+        log.debug("Received request to update image with id: {}", id);
         ImageDto updatedImage = imageService.updateImage(id, imageDto);
         return ResponseEntity.ok(ApiResponse.success("Image updated successfully", updatedImage));
     }
@@ -96,7 +96,7 @@ public class ImageController {
     })
     public ResponseEntity<ApiResponse<Void>> deleteImage(
             @Parameter(description = "Image ID", required = true) @PathVariable Long id) {
-        log.info("Received request to delete image with id: {}", id);
+        log.debug("Received request to delete image with id: {}", id);
         imageService.deleteImage(id);
         return ResponseEntity.ok(ApiResponse.success("Image deleted successfully", null));
     }
@@ -112,7 +112,7 @@ public class ImageController {
     public ResponseEntity<ApiResponse<List<ImageDto>>> searchImagesByStageId(
             @Parameter(description = "Stage ID", required = true) @PathVariable Long stageId,
             @Parameter(description = "Image name to search for") @RequestParam String name) {
-        log.info("Received request to search images for stage id: {} with name: {}", stageId, name);
+        log.debug("Received request to search images for stage id: {} with name: {}", stageId, name);
         List<ImageDto> images = imageService.searchImagesByStageId(stageId, name);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", images));
     }
@@ -1,23 +1,43 @@
 package com.wedding.eventcustomization.controller;
 
 import com.wedding.eventcustomization.dto.ApiResponse;
+import com.wedding.eventcustomization.dto.PdfBatchRequest;
+import com.wedding.eventcustomization.dto.PdfDownloadLink;
 import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.exception.ResourceNotFoundException;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import com.wedding.eventcustomization.pdf.PdfArtifactStore;
+import com.wedding.eventcustomization.pdf.PdfBatch;
+import com.wedding.eventcustomization.pdf.PdfContent;
+import com.wedding.eventcustomization.pdf.PdfIdempotencyStore;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
 import com.wedding.eventcustomization.service.PdfGenerationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/pdf")
@@ -26,34 +46,77 @@ import java.time.format.DateTimeFormatter;
 @Tag(name = "PDF Generation", description = "APIs for generating wedding customization PDFs")
 public class PdfController {
     
+    // Tomcat writes the file itself after the handler returns when these are set
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    // Rough heap size of a replayed download link
+    private static final long LINK_WEIGHT = 1024;
+    
     private final PdfGenerationService pdfGenerationService;
+    private final PdfArtifactStore artifactStore;
+    private final PdfIdempotencyStore idempotencyStore;
     
     @PostMapping("/generate")
     @Operation(summary = "Generate wedding customization PDF", 
                description = "Generate a PDF with selected wedding decorations and images")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "PDF generated successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "PDF matching If-None-Match is unchanged"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "PDF generation failed")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "A selected decoration image does not exist"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "PDF generation failed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "PDF rendering is saturated, retry after the Retry-After delay")
     })
-    public ResponseEntity<byte[]> generatePdf(@Valid @RequestBody PdfGenerationRequest request) {
+    public ResponseEntity<StreamingResponseBody> generatePdf(@Valid @RequestBody PdfGenerationRequest pdfRequest,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                              @RequestHeader(value = PdfIdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                              HttpServletRequest servletRequest) {
         try {
-            log.info("Received PDF generation request for event: {} with {} images", 
-                    request.getEventName(), request.getSelectedImages().size());
+            log.debug("Received PDF generation request for event: {} with {} images", 
+                    pdfRequest.getEventId(), pdfRequest.getSelectionSize());
+            
+            PdfGenerationRequest request = pdfGenerationService.resolveSelection(pdfRequest);
             
-            byte[] pdfBytes = pdfGenerationService.generateWeddingCustomizationPdf(request);
+            String fingerprint = pdfGenerationService.fingerprint(request);
+            String etag = RenderedPdf.etagOf(fingerprint);
+            if (matchesEtag(ifNoneMatch, etag)) {
+                log.debug("PDF {} not modified, skipping generation", fingerprint);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+            
+            RenderedPdf pdf = generate("generate", servletRequest, idempotencyKey, pdfRequest, request, fingerprint);
             
             String fileName = generateFileName(request.getEventName());
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", fileName);
-            headers.setContentLength(pdfBytes.length);
+            headers.setContentLength(pdf.content().size());
+            if (pdf.degraded()) {
+                // Placeholder images: the next request should render the real ones
+                headers.setCacheControl(CacheControl.noStore());
+            } else {
+                headers.setETag(pdf.etag());
+                headers.setCacheControl(CacheControl.noCache().cachePrivate());
+            }
             
-            log.info("Successfully generated PDF: {} ({} bytes)", fileName, pdfBytes.length);
+            log.debug("Successfully generated PDF: {} ({} bytes, cached: {})", fileName, pdf.content().size(), pdf.fromCache());
             
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            StreamingResponseBody body = outputStream -> {
+                try (pdf) {
+                    pdf.content().writeTo(outputStream);
+                }
+            };
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
             
+        } catch (ServiceOverloadedException | ResourceNotFoundException | IllegalArgumentException e) {
+            throw e;
         } catch (IOException e) {
             log.error("Error generating PDF: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -65,24 +128,72 @@ public class PdfController {
     
     @PostMapping("/generate-base64")
     @Operation(summary = "Generate wedding customization PDF as Base64", 
-               description = "Generate a PDF and return it as Base64 encoded string")
+               description = "Generate a PDF and return it as Base64 encoded string. Prefer /generate-link for large brochures")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "PDF generated successfully"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "PDF generation failed")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "A selected decoration image does not exist"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "PDF generation failed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "PDF rendering is saturated, retry after the Retry-After delay")
     })
-    public ResponseEntity<ApiResponse<String>> generatePdfBase64(@Valid @RequestBody PdfGenerationRequest request) {
+    public ResponseEntity<ApiResponse<String>> generatePdfBase64(@Valid @RequestBody PdfGenerationRequest pdfRequest,
+                                              @RequestHeader(value = PdfIdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                              HttpServletRequest servletRequest) {
         try {
-            log.info("Received PDF generation request (Base64) for event: {} with {} images", 
-                    request.getEventName(), request.getSelectedImages().size());
+            log.debug("Received PDF generation request (Base64) for event: {} with {} images", 
+                    pdfRequest.getEventId(), pdfRequest.getSelectionSize());
             
-            byte[] pdfBytes = pdfGenerationService.generateWeddingCustomizationPdf(request);
-            String base64Pdf = java.util.Base64.getEncoder().encodeToString(pdfBytes);
+            PdfGenerationRequest request = pdfGenerationService.resolveSelection(pdfRequest);
+            try (RenderedPdf pdf = generate("generate-base64", servletRequest, idempotencyKey, pdfRequest, request, pdfGenerationService.fingerprint(request))) {
+                String base64Pdf = pdfGenerationService.encodeBase64(request, pdf);
+                
+                log.debug("Successfully generated PDF as Base64 ({} bytes, cached: {})", pdf.content().size(), pdf.fromCache());
+                
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (!pdf.degraded()) {
+                    response.eTag(pdf.etag());
+                }
+                return response.body(ApiResponse.success("PDF generated successfully", base64Pdf));
+            }
             
-            log.info("Successfully generated PDF as Base64 ({} bytes)", pdfBytes.length);
+        } catch (ServiceOverloadedException | ResourceNotFoundException | IllegalArgumentException e) {
+            throw e;
+        } catch (IOException e) {
+            log.error("Error generating PDF: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("PDF generation failed: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Unexpected error during PDF generation: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("PDF generation failed: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/generate-link")
+    @Operation(summary = "Generate wedding customization PDF as a download link", 
+               description = "Generate a PDF, store it for a short while and return a link to download it from")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "PDF generated and stored"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "A selected decoration image does not exist"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "PDF generation failed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "PDF rendering or download storage is saturated, retry after the Retry-After delay")
+    })
+    public ResponseEntity<ApiResponse<PdfDownloadLink>> generatePdfLink(@Valid @RequestBody PdfGenerationRequest pdfRequest,
+                                              @RequestHeader(value = PdfIdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                              HttpServletRequest servletRequest) {
+        try {
+            log.debug("Received PDF generation request (link) for event: {} with {} images", 
+                    pdfRequest.getEventId(), pdfRequest.getSelectionSize());
             
-            return ResponseEntity.ok(ApiResponse.success("PDF generated successfully", base64Pdf));
+            PdfGenerationRequest request = pdfGenerationService.resolveSelection(pdfRequest);
+            PdfDownloadLink link = idempotencyKey == null
+                    ? storeLink(request)
+                    : idempotencyStore.execute("generate-link", client(servletRequest), idempotencyKey, pdfRequest, () -> storeLink(request), stored -> LINK_WEIGHT);
+            return ResponseEntity.ok(ApiResponse.success("PDF generated successfully", link));
             
+        } catch (ServiceOverloadedException | ResourceNotFoundException | IllegalArgumentException e) {
+            throw e;
         } catch (IOException e) {
             log.error("Error generating PDF: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -94,6 +205,142 @@ public class PdfController {
         }
     }
     
+    @GetMapping("/artifacts/{token}")
+    @Operation(summary = "Download a generated PDF", 
+               description = "Download a PDF stored by /generate-link. Supports single byte ranges")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Whole PDF"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Requested byte range of the PDF"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "The link is unknown or has expired"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "416", description = "The requested range is not satisfiable")
+    })
+    public ResponseEntity<StreamingResponseBody> downloadPdf(@PathVariable String token,
+                                              @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                              @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+                                              HttpServletRequest servletRequest) {
+        PdfArtifactStore.Artifact artifact = artifactStore.find(token)
+                .orElseThrow(() -> new ResourceNotFoundException("PDF download link is unknown or has expired"));
+        
+        long size = artifact.size();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(artifact.fileName()).build());
+        headers.setETag(artifact.etag());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.maxAge(Duration.between(Instant.now(), artifact.expiresAt())).cachePrivate());
+        
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        // Several ranges are answered with the whole document, which RFC 9110 allows
+        if (range != null && (ifRange == null || ifRange.equals(artifact.etag()))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    status = HttpStatus.PARTIAL_CONTENT;
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+        }
+        long length = end - start + 1;
+        headers.setContentLength(length);
+        
+        if (Boolean.TRUE.equals(servletRequest.getAttribute(SENDFILE_SUPPORT))) {
+            servletRequest.setAttribute(SENDFILE_FILENAME, artifact.file().toAbsolutePath().toString());
+            servletRequest.setAttribute(SENDFILE_START, start);
+            servletRequest.setAttribute(SENDFILE_END, end + 1);
+            return new ResponseEntity<>(headers, status);
+        }
+        long offset = start;
+        StreamingResponseBody body = outputStream -> artifactStore.transferTo(artifact, offset, length, outputStream);
+        return new ResponseEntity<>(body, headers, status);
+    }
+    
+    @PostMapping("/generate-batch")
+    @Operation(summary = "Generate several wedding customization PDFs as a ZIP", 
+               description = "Render the PDFs in parallel and stream them into a ZIP archive as each one finishes")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "ZIP stream started"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "PDF rendering is saturated, retry after the Retry-After delay")
+    })
+    public ResponseEntity<StreamingResponseBody> generatePdfBatch(@Valid @RequestBody PdfBatchRequest batchRequest) {
+        log.debug("Received PDF batch request with {} documents", batchRequest.getRequests().size());
+        
+        PdfBatch batch = pdfGenerationService.generateBatch(batchRequest.getRequests());
+        
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", "wedding_customizations_" + timestamp + ".zip");
+        
+        return new ResponseEntity<>(batch::writeZip, headers, HttpStatus.OK);
+    }
+    
+    /**
+     * With an idempotency key a document held in memory is shared with concurrent duplicates
+     * and replayed to retries; closing it releases nothing. A spooled document stays on disk
+     * and belongs to this request alone, so duplicates render (or hit the cache) themselves.
+     */
+    private RenderedPdf generate(String scope, HttpServletRequest servletRequest, String idempotencyKey,
+                                 PdfGenerationRequest pdfRequest, PdfGenerationRequest request,
+                                 String fingerprint) throws IOException {
+        if (idempotencyKey == null) {
+            return pdfGenerationService.generate(request, fingerprint);
+        }
+        return idempotencyStore.execute(scope, client(servletRequest), idempotencyKey, pdfRequest,
+                () -> pdfGenerationService.generate(request, fingerprint),
+                pdf -> pdf.content() instanceof PdfContent.InMemory ? pdf.content().size() : PdfIdempotencyStore.NOT_SHARED);
+    }
+    
+    /**
+     * The authenticated principal, or else the remote address, which honours forwarded
+     * headers when {@code server.forward-headers-strategy} is set behind a proxy.
+     */
+    private static String client(HttpServletRequest servletRequest) {
+        Principal principal = servletRequest.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + servletRequest.getRemoteAddr();
+    }
+    
+    private PdfDownloadLink storeLink(PdfGenerationRequest request) throws IOException {
+        try (RenderedPdf pdf = pdfGenerationService.generate(request, pdfGenerationService.fingerprint(request))) {
+            PdfArtifactStore.Artifact artifact = artifactStore.store(pdf.content(), generateFileName(request.getEventName()));
+            log.debug("Successfully generated PDF for download: {} ({} bytes, cached: {})", 
+                    artifact.fileName(), artifact.size(), pdf.fromCache());
+            return PdfDownloadLink.builder()
+                    .url(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/api/v1/pdf/artifacts/{token}")
+                            .buildAndExpand(artifact.token())
+                            .toUriString())
+                    .fileName(artifact.fileName())
+                    .size(artifact.size())
+                    .sha256(artifact.sha256())
+                    .expiresAt(LocalDateTime.ofInstant(artifact.expiresAt(), ZoneId.systemDefault()))
+                    .build();
+        }
+    }
+    
+    private boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     private String generateFileName(String eventName) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String sanitizedEventName = eventName.replaceAll("[^a-zA-Z0-9]", "_");
@@ -34,7 +34,7 @@ public class StageController {
     })
     public ResponseEntity<ApiResponse<List<StageDto>>> getStagesByEventId(
             @Parameter(description = "Event ID", required = true) @PathVariable Long eventId) {
-        log.info("Received request to get stages for event id: {}", eventId);
+        log.debug("Received request to get stages for event id: {}", eventId);
         List<StageDto> stages = stageService.getAllStagesByEventId(eventId);
         return ResponseEntity.ok(ApiResponse.success("Stages retrieved successfully", stages));
     }
@@ -48,7 +48,7 @@ public class StageController {
     })
     public ResponseEntity<ApiResponse<StageDto>> getStageById(
             @Parameter(description = "Stage ID", required = true) @PathVariable Long id) {
-        log.info("Received request to get stage by id: {}", id);
+        log.debug("Received request to get stage by id: {}", id);
         StageDto stage = stageService.getStageById(id);
         return ResponseEntity.ok(ApiResponse.success("Stage retrieved successfully", stage));
     }
@@ -64,7 +64,7 @@ public class StageController {
     })
     public ResponseEntity<ApiResponse<StageDto>> createStage(
             @Valid @RequestBody StageDto stageDto) {
-        log.info("Received request to create stage: {} for event id: {}", stageDto.getName(), stageDto.getEventId());
+        log.debug("Received request to create stage: {} for event id: {}", stageDto.getName(), stageDto.getEventId());
         StageDto createdStage = stageService.createStage(stageDto);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Stage created successfully", createdStage));
@@ -82,7 +82,7 @@ public class StageController {
     public ResponseEntity<ApiResponse<StageDto>> updateStage(
             @Parameter(description = "Stage ID", required = true) @PathVariable Long id,
             @Valid @RequestBody StageDto stageDto) {
-        log.info("Received request to update stage with id: {}", id);
+        log.debug("Received request to update stage with id: {}", id);
         StageDto updatedStage = stageService.updateStage(id, stageDto);
         return ResponseEntity.ok(ApiResponse.success("Stage updated successfully", updatedStage));
     }
@@ -96,7 +96,7 @@ public class StageController {
     })
     public ResponseEntity<ApiResponse<Void>> deleteStage(
             @Parameter(description = "Stage ID", required = true) @PathVariable Long id) {
-        log.info("Received request to delete stage with id: {}", id);
+        log.debug("Received request to delete stage with id: {}", id);
         stageService.deleteStage(id);
         return ResponseEntity.ok(ApiResponse.success("Stage deleted successfully", null));
     }
@@ -112,7 +112,7 @@ public class StageController {
     public ResponseEntity<ApiResponse<List<StageDto>>> searchStagesByEventId(
             @Parameter(description = "Event ID", required = true) @PathVariable Long eventId,
             @Parameter(description = "Stage name to search for") @RequestParam String name) {
-        log.info("Received request to search stages for event id: {} with name: {}", eventId, name);
+        log.debug("Received request to search stages for event id: {} with name: {}", eventId, name);
         List<StageDto> stages = stageService.searchStagesByEventId(eventId, name);
         return ResponseEntity.ok(ApiResponse.success("Search completed successfully", stages));
     }
@@ -0,0 +1,21 @@
+package com.wedding.eventcustomization.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfBatchRequest {
+    
+    @NotEmpty(message = "At least one PDF request is required")
+    @Valid
+    private List<PdfGenerationRequest> requests;
+}
@@ -0,0 +1,21 @@
+package com.wedding.eventcustomization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfDownloadLink {
+    
+    private String url;
+    private String fileName;
+    private long size;
+    private String sha256;
+    private LocalDateTime expiresAt;
+}
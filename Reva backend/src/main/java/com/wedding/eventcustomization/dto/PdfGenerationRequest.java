@@ -1,5 +1,8 @@
 package com.wedding.eventcustomization.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.wedding.eventcustomization.pdf.PdfRenderEngine;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -10,7 +13,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PdfGenerationRequest {
@@ -18,14 +21,34 @@ public class PdfGenerationRequest {
     @NotNull(message = "Event ID is required")
     private Long eventId;
     
-    @NotBlank(message = "Event name is required")
     private String eventName;
     
-    @NotNull(message = "Selected images are required")
     private List<SelectedImage> selectedImages;
     
+    /**
+     * Compact form of the selection: the server looks the images up in the catalog and fills
+     * in the event name and selected images itself.
+     */
+    private List<@NotNull(message = "Image ID is required") Long> imageIds;
+    
+    private PdfRenderEngine engine;
+    
+    @JsonIgnore
+    @AssertTrue(message = "Either imageIds, or eventName with selectedImages, is required")
+    public boolean isSelectionSpecified() {
+        if (imageIds != null) {
+            return !imageIds.isEmpty() && selectedImages == null;
+        }
+        return selectedImages != null && eventName != null && !eventName.isBlank();
+    }
+    
+    @JsonIgnore
+    public int getSelectionSize() {
+        return imageIds != null ? imageIds.size() : selectedImages != null ? selectedImages.size() : 0;
+    }
+    
     @Data
-    @Builder
+    @Builder(toBuilder = true)
     @NoArgsConstructor
     @AllArgsConstructor
     public static class SelectedImage {
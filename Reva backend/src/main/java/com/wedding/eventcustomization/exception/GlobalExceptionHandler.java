@@ -1,7 +1,10 @@
 package com.wedding.eventcustomization.exception;
 
+import com.wedding.eventcustomization.concurrency.ConcurrencyLimitFilter;
 import com.wedding.eventcustomization.dto.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -26,6 +30,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "RESOURCE_NOT_FOUND"));
     }
     
+    /**
+     * A static file that does not exist, such as the brochure of an event not rendered yet.
+     */
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleNoResourceFoundException(NoResourceFoundException ex) {
+        log.debug("No static resource: {}", ex.getResourcePath());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Resource not found: /" + ex.getResourcePath(), "RESOURCE_NOT_FOUND"));
+    }
+    
     @ExceptionHandler(ResourceAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<Void>> handleResourceAlreadyExistsException(ResourceAlreadyExistsException ex) {
         log.error("Resource already exists: {}", ex.getMessage());
@@ -33,6 +47,16 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "RESOURCE_ALREADY_EXISTS"));
     }
     
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceOverloadedException(ServiceOverloadedException ex,
+                                                                              HttpServletRequest request) {
+        log.warn("Service overloaded: {}", ex.getMessage());
+        ConcurrencyLimitFilter.markShed(request);
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ApiResponse.error(ex.getMessage(), "SERVICE_OVERLOADED"));
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Validation error: {}", ex.getMessage());
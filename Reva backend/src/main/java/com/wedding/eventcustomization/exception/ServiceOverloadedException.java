@@ -0,0 +1,18 @@
+package com.wedding.eventcustomization.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    
+    private final int status;
+    private final Duration retryAfter;
+    
+    public ServiceOverloadedException(String message, int status, Duration retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
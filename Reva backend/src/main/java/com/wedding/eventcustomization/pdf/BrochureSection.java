@@ -0,0 +1,22 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+
+import java.util.List;
+
+/**
+ * A run of decorations rendered under one heading. Only the first section of a brochure
+ * carries the header and only the last one the footer.
+ */
+public record BrochureSection(String title, List<PdfGenerationRequest.SelectedImage> images,
+                              boolean first, boolean last) {
+
+    public static final String DEFAULT_TITLE = "Selected Decorations";
+
+    /**
+     * The whole selection as a single section, which is how an unsectioned brochure renders.
+     */
+    public static BrochureSection whole(PdfGenerationRequest request) {
+        return new BrochureSection(DEFAULT_TITLE, request.getSelectedImages(), true, true);
+    }
+}
@@ -0,0 +1,179 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.styledxmlparser.css.CssStyleSheet;
+import com.itextpdf.styledxmlparser.css.parse.CssStyleSheetParser;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brochure HTML template compiled once at startup.
+ * <p>
+ * The page skeleton is split into static segments and placeholders, so a render only
+ * concatenates the per-request parts into a pre-sized buffer. The stylesheet is checked with
+ * the html2pdf CSS parser up front and inlined in its normalized form. html2pdf still parses
+ * the {@code <style>} block on every conversion, as it builds its own CSS resolver per
+ * document and takes no pre-parsed stylesheet.
+ */
+@Component
+@Slf4j
+public class BrochureTemplate {
+
+    private static final String TEMPLATE_RESOURCE = "templates/pdf/brochure.html";
+    private static final String HEADER_RESOURCE = "templates/pdf/brochure-header.html";
+    private static final String FOOTER_RESOURCE = "templates/pdf/brochure-footer.html";
+    private static final String STYLESHEET_RESOURCE = "templates/pdf/brochure.css";
+    static final DateTimeFormatter GENERATED_DATE_FORMAT = DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' h:mm a");
+    private static final int ESTIMATED_IMAGE_ITEM_LENGTH = 384;
+
+    private final String stylesheet;
+    private final List<Segment> segments;
+    private final List<Segment> headerSegments;
+    private final List<Segment> footerSegments;
+    private final int staticLength;
+
+    public BrochureTemplate() {
+        this.stylesheet = parseStylesheet(readResource(STYLESHEET_RESOURCE));
+        this.segments = compile(TEMPLATE_RESOURCE, Map.of("stylesheet", stylesheet));
+        this.headerSegments = compile(HEADER_RESOURCE, Map.of());
+        this.footerSegments = compile(FOOTER_RESOURCE, Map.of());
+        this.staticLength = staticLength(segments) + staticLength(headerSegments) + staticLength(footerSegments);
+        log.info("Compiled PDF brochure template ({} segments, {} chars of stylesheet)", segments.size(), stylesheet.length());
+    }
+
+    public String render(PdfGenerationRequest request, LocalDateTime generatedAt) {
+        return render(request, BrochureSection.whole(request), generatedAt);
+    }
+
+    public String render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt) {
+        StringBuilder html = new StringBuilder(staticLength + section.images().size() * ESTIMATED_IMAGE_ITEM_LENGTH);
+        append(html, segments, escape(request.getEventName()), section, generatedAt);
+        return html.toString();
+    }
+
+    public String getStylesheet() {
+        return stylesheet;
+    }
+
+    private void append(StringBuilder html, List<Segment> template, String eventName,
+                        BrochureSection section, LocalDateTime generatedAt) {
+        for (Segment segment : template) {
+            if (segment.placeholder() == null) {
+                html.append(segment.text());
+                continue;
+            }
+            switch (segment.placeholder()) {
+                case "eventName" -> html.append(eventName);
+                case "generatedDate" -> html.append(generatedAt.format(GENERATED_DATE_FORMAT));
+                case "sectionTitle" -> html.append(escape(section.title()));
+                case "images" -> section.images().forEach(image -> appendImageItem(html, image));
+                case "header" -> {
+                    if (section.first()) {
+                        append(html, headerSegments, eventName, section, generatedAt);
+                    }
+                }
+                case "footer" -> {
+                    if (section.last()) {
+                        append(html, footerSegments, eventName, section, generatedAt);
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown template placeholder: " + segment.placeholder());
+            }
+        }
+    }
+
+    private void appendImageItem(StringBuilder html, PdfGenerationRequest.SelectedImage image) {
+        String imageName = escape(image.getImageName());
+        html.append("<div class='image-item'>")
+            .append("<img src='").append(escape(image.getImageUrl())).append("' alt='").append(imageName).append("'>")
+            .append("<h3>").append(escape(image.getStageName())).append("</h3>")
+            .append("<p><strong>").append(imageName).append("</strong></p>");
+
+        if (image.getDescription() != null && !image.getDescription().trim().isEmpty()) {
+            html.append("<p>").append(escape(image.getDescription())).append("</p>");
+        }
+
+        html.append("</div>");
+    }
+
+    private static String escape(String value) {
+        return value != null ? HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()) : "";
+    }
+
+    private static String parseStylesheet(String css) {
+        CssStyleSheet parsed = CssStyleSheetParser.parse(css);
+        if (parsed.getStatements().isEmpty()) {
+            throw new IllegalStateException("PDF brochure stylesheet " + STYLESHEET_RESOURCE + " has no rules");
+        }
+        return parsed.toString();
+    }
+
+    /**
+     * Splits the template into literal text and {@code {{name}}} placeholders, inlining any
+     * placeholder whose value is already known at compile time.
+     */
+    private static List<Segment> compile(String resource, Map<String, String> constants) {
+        String template = readResource(resource).trim();
+        List<Segment> compiled = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < template.length()) {
+            int start = template.indexOf("{{", position);
+            if (start < 0) {
+                literal.append(template, position, template.length());
+                break;
+            }
+            int end = template.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalStateException("Unterminated placeholder in " + resource + " at index " + start);
+            }
+            literal.append(template, position, start);
+            String name = template.substring(start + 2, end).trim();
+            if (constants.containsKey(name)) {
+                literal.append(constants.get(name));
+            } else {
+                if (!literal.isEmpty()) {
+                    compiled.add(new Segment(literal.toString(), null));
+                    literal.setLength(0);
+                }
+                compiled.add(new Segment(null, name));
+            }
+            position = end + 2;
+        }
+        if (!literal.isEmpty()) {
+            compiled.add(new Segment(literal.toString(), null));
+        }
+        return List.copyOf(compiled);
+    }
+
+    private static int staticLength(List<Segment> template) {
+        return template.stream()
+                .filter(segment -> segment.placeholder() == null)
+                .mapToInt(segment -> segment.text().length())
+                .sum();
+    }
+
+    private static String readResource(String path) {
+        try (InputStream inputStream = new ClassPathResource(path).getInputStream()) {
+            return StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load PDF template resource: " + path, e);
+        }
+    }
+
+    private record Segment(String text, String placeholder) {
+    }
+}
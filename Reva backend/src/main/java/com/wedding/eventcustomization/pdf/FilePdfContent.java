@@ -0,0 +1,133 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.io.source.GetBufferedRandomAccessSource;
+import com.itextpdf.io.source.IRandomAccessSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Brochure content served from a file through {@link FileChannel#transferTo}, which lets the
+ * JDK move the bytes through a mapped or direct buffer instead of a heap copy of the document.
+ */
+final class FilePdfContent implements PdfContent {
+
+    private final FileChannel channel;
+    private final long size;
+    private final Runnable onClose;
+    private boolean closed;
+
+    private FilePdfContent(FileChannel channel, long size, Runnable onClose) {
+        this.channel = channel;
+        this.size = size;
+        this.onClose = onClose;
+    }
+
+    /**
+     * @param onClose run once the content is closed, e.g. to delete a spool file
+     */
+    static FilePdfContent open(Path file, Runnable onClose) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new FilePdfContent(channel, channel.size(), onClose);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long position = 0;
+        while (position < size) {
+            position += channel.transferTo(position, size - position, target);
+        }
+    }
+
+    @Override
+    public byte[] toByteArray() throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IOException("PDF of " + size + " bytes is too large to load into memory");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        long position = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("PDF file ended after " + position + " of " + size + " bytes");
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    @Override
+    public IRandomAccessSource newRandomAccessSource() {
+        return new GetBufferedRandomAccessSource(new ChannelSource());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } finally {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Positional reads, so several readers can share the channel; the buffering wrapper
+     * spares iText's byte-at-a-time parsing a system call per byte.
+     */
+    private final class ChannelSource implements IRandomAccessSource {
+
+        @Override
+        public int get(long position) throws IOException {
+            byte[] single = new byte[1];
+            return get(position, single, 0, 1) == 1 ? single[0] & 0xff : -1;
+        }
+
+        @Override
+        public int get(long position, byte[] bytes, int offset, int length) throws IOException {
+            if (position >= size) {
+                return -1;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, (int) Math.min(length, size - position));
+            int total = 0;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + total);
+                if (read < 0) {
+                    break;
+                }
+                total += read;
+            }
+            return total;
+        }
+
+        @Override
+        public long length() {
+            return size;
+        }
+
+        @Override
+        public void close() {
+            // The channel belongs to the content, which is closed by its owner
+        }
+    }
+}
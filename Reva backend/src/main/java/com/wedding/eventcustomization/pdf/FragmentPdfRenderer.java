@@ -0,0 +1,140 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.layout.LayoutResult;
+import com.itextpdf.layout.renderer.IRenderer;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assembles the {@link LayoutPdfRenderer} brochure from pre-rendered decorations.
+ * <p>
+ * Each decoration is rendered once into a one-page PDF cropped to its block and kept in the
+ * {@link PdfFragmentCache}. A brochure then only lays out the header, footer and panel afresh
+ * and copies the cached pages in as form XObjects, reusing their already-encoded images, so
+ * its cost grows with the number of blocks copied rather than with image decoding and text
+ * layout.
+ */
+@Component
+@RequiredArgsConstructor
+public class FragmentPdfRenderer implements PdfRenderer {
+
+    private static final float FRAGMENT_WIDTH =
+            PageSize.A4.getWidth() - 2 * (LayoutPdfRenderer.PAGE_MARGIN + LayoutPdfRenderer.CONTENT_PADDING);
+    private static final float MAX_FRAGMENT_HEIGHT = PageSize.A4.getHeight();
+
+    private final LayoutPdfRenderer layoutRenderer;
+    private final PdfFragmentCache fragmentCache;
+    private final PdfImageFetcher imageFetcher;
+
+    @Override
+    public PdfRenderEngine engine() {
+        return PdfRenderEngine.FRAGMENTS;
+    }
+
+    @Override
+    public void render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt,
+                       OutputStream outputStream) throws IOException {
+        PdfStageMetrics.Trace trace = layoutRenderer.trace(engine(), request);
+        try (PdfDocument pdfDocument = new PdfDocument(layoutRenderer.newWriter(outputStream))) {
+            pdfDocument.getDocumentInfo().setTitle("Wedding Customization - " + request.getEventName());
+            Document document = new Document(pdfDocument, PageSize.A4);
+            trace.time(PdfStageMetrics.Stage.LAYOUT, () -> {
+                float margin = LayoutPdfRenderer.PAGE_MARGIN;
+                document.setMargins(margin, margin, margin, margin);
+                layoutRenderer.applyTypography(document);
+
+                if (section.first()) {
+                    document.add(layoutRenderer.header(request.getEventName()));
+                }
+                Div content = layoutRenderer.contentSection(section.title());
+                Map<String, PdfFormXObject> copied = new HashMap<>();
+                for (PdfGenerationRequest.SelectedImage image : section.images()) {
+                    String key = PdfRequestFingerprint.ofFragment(image);
+                    PdfFormXObject fragment = copied.get(key);
+                    if (fragment == null) {
+                        fragment = copyFragment(fragment(image, trace), pdfDocument);
+                        copied.put(key, fragment);
+                    }
+                    content.add(new Image(fragment));
+                }
+                document.add(content);
+                if (section.last()) {
+                    document.add(layoutRenderer.footer(generatedAt));
+                }
+                return null;
+            });
+            trace.time(PdfStageMetrics.Stage.WRITE, () -> {
+                document.close();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * A fragment drawn with the placeholder for an unreachable image is used for this
+     * brochure only, so the real picture shows up once its host recovers.
+     */
+    private byte[] fragment(PdfGenerationRequest.SelectedImage image, PdfStageMetrics.Trace trace) throws IOException {
+        byte[] fragment = fragmentCache.getIfPresent(image);
+        if (fragment == null) {
+            long start = System.nanoTime();
+            fragment = renderFragment(image, trace);
+            if (!imageFetcher.usedFallbackSince(Collections.singletonList(image.getImageUrl()), start)) {
+                fragmentCache.put(image, fragment);
+            }
+        }
+        return fragment;
+    }
+
+    /**
+     * Lays the decoration out once to measure it, then renders it onto a page of exactly that
+     * height so the fragment carries no blank space.
+     */
+    byte[] renderFragment(PdfGenerationRequest.SelectedImage image, PdfStageMetrics.Trace trace) throws IOException {
+        Table block = layoutRenderer.imageGrid().addCell(layoutRenderer.imageItem(image, layoutRenderer.newDocumentImages(trace)));
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            PdfDocument pdfDocument = new PdfDocument(layoutRenderer.newWriter(outputStream));
+            try (Document document = new Document(pdfDocument, new PageSize(FRAGMENT_WIDTH, MAX_FRAGMENT_HEIGHT))) {
+                document.setMargins(0, 0, 0, 0);
+                layoutRenderer.applyTypography(document);
+
+                IRenderer renderer = block.createRendererSubTree().setParent(document.getRenderer());
+                LayoutResult measured = renderer.layout(new LayoutContext(
+                        new LayoutArea(1, new Rectangle(FRAGMENT_WIDTH, MAX_FRAGMENT_HEIGHT))));
+                float height = measured.getStatus() == LayoutResult.FULL
+                        ? (float) Math.ceil(measured.getOccupiedArea().getBBox().getHeight())
+                        : MAX_FRAGMENT_HEIGHT;
+                pdfDocument.setDefaultPageSize(new PageSize(FRAGMENT_WIDTH, height));
+                document.add(block);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static PdfFormXObject copyFragment(byte[] fragment, PdfDocument target) throws IOException {
+        try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(fragment)))) {
+            return source.getFirstPage().copyAsFormXObject(target);
+        }
+    }
+}
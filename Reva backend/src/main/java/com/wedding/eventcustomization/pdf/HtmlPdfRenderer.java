@@ -0,0 +1,121 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.io.util.UrlUtil;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.layout.Document;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+@RequiredArgsConstructor
+public class HtmlPdfRenderer implements PdfRenderer {
+    
+    private final BrochureTemplate brochureTemplate;
+    private final PdfRenderingResources renderingResources;
+    private final PdfStageMetrics stageMetrics;
+    private final PdfImageFetcher imageFetcher;
+    
+    @Override
+    public PdfRenderEngine engine() {
+        return PdfRenderEngine.HTML;
+    }
+    
+    @Override
+    public void render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt,
+                       OutputStream outputStream) throws IOException {
+        PdfStageMetrics.Trace trace = stageMetrics.trace(engine(), request.getSelectedImages().size());
+        IResourceRetriever retriever = trace.timeFetches(imageFetcher.retriever());
+        SharedImages sharedImages = renderingResources.isCompactOutput() ? new SharedImages(retriever) : null;
+        BrochureSection shown = sharedImages != null ? sharedImages.share(section) : section;
+        String htmlContent = trace.time(PdfStageMetrics.Stage.BUILD_HTML, () -> brochureTemplate.render(request, shown, generatedAt));
+        
+        ConverterProperties converterProperties = renderingResources.newConverterProperties();
+        converterProperties.setResourceRetriever(sharedImages != null ? sharedImages : retriever);
+        try (PdfDocument pdfDocument = new PdfDocument(renderingResources.newWriter(outputStream))) {
+            // html2pdf flushes finished pages while laying out, so writing is left with the fonts,
+            // the last page and the cross-reference table
+            Document document = trace.time(PdfStageMetrics.Stage.LAYOUT,
+                    () -> HtmlConverter.convertToDocument(htmlContent, pdfDocument, converterProperties));
+            trace.time(PdfStageMetrics.Stage.WRITE, () -> {
+                document.close();
+                return null;
+            });
+        }
+    }
+    
+    /**
+     * The pictures of one section in compact mode. html2pdf keeps one XObject per URL, so
+     * decorations whose URLs serve identical bytes are pointed at the first of those URLs and
+     * the picture is embedded once. The pictures are fetched before the HTML is built and
+     * then served to the converter from here rather than fetched again.
+     */
+    static final class SharedImages implements IResourceRetriever {
+        
+        private final IResourceRetriever retriever;
+        private final Map<String, byte[]> byUrl = new HashMap<>();
+        private final Map<ByteBuffer, String> byContent = new HashMap<>();
+        
+        SharedImages(IResourceRetriever retriever) {
+            this.retriever = retriever;
+        }
+        
+        BrochureSection share(BrochureSection section) throws IOException {
+            List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>(section.images().size());
+            for (PdfGenerationRequest.SelectedImage image : section.images()) {
+                String imageUrl = sharedUrl(image.getImageUrl());
+                images.add(Objects.equals(imageUrl, image.getImageUrl()) ? image : image.toBuilder().imageUrl(imageUrl).build());
+            }
+            return new BrochureSection(section.title(), images, section.first(), section.last());
+        }
+        
+        @Override
+        public InputStream getInputStreamByUrl(URL url) throws IOException {
+            return retriever.getInputStreamByUrl(url);
+        }
+        
+        @Override
+        public byte[] getByteArrayByUrl(URL url) throws IOException {
+            byte[] content = byUrl.get(url.toExternalForm());
+            return content != null ? content : retriever.getByteArrayByUrl(url);
+        }
+        
+        private String sharedUrl(String imageUrl) throws IOException {
+            if (imageUrl == null || imageUrl.isBlank()) {
+                return imageUrl;
+            }
+            URL url;
+            try {
+                url = UrlUtil.toURL(imageUrl);
+            } catch (MalformedURLException e) {
+                // Left to html2pdf, which skips the picture
+                return imageUrl;
+            }
+            byte[] content = byUrl.get(url.toExternalForm());
+            if (content == null) {
+                content = retriever.getByteArrayByUrl(url);
+                if (content == null) {
+                    return imageUrl;
+                }
+                byUrl.put(url.toExternalForm(), content);
+            }
+            return byContent.computeIfAbsent(ByteBuffer.wrap(content), shared -> imageUrl);
+        }
+    }
+}
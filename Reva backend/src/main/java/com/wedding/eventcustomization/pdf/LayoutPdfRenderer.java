@@ -0,0 +1,248 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.io.util.UrlUtil;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfImageXObject;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.element.Text;
+import com.itextpdf.layout.properties.BorderRadius;
+import com.itextpdf.layout.properties.HorizontalAlignment;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the standard brochure directly with the iText layout API, skipping HTML parsing,
+ * CSS resolution and tag-worker mapping. The styling mirrors {@code brochure.css} as html2pdf
+ * lays it out (one decoration per row), minus the emoji the standard fonts cannot draw.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LayoutPdfRenderer implements PdfRenderer {
+
+    private static final Color ACCENT = new DeviceRgb(0x66, 0x7e, 0xea);
+    private static final Color HEADING = new DeviceRgb(0x33, 0x33, 0x33);
+    private static final Color MUTED = new DeviceRgb(0x66, 0x66, 0x66);
+    private static final Color ITEM_BORDER = new DeviceRgb(0xe0, 0xe0, 0xe0);
+    private static final Color ITEM_BACKGROUND = new DeviceRgb(0xfa, 0xfa, 0xfa);
+    static final float PAGE_MARGIN = 36f;
+    static final float CONTENT_PADDING = 22.5f;
+    private static final float IMAGE_HEIGHT = 150f;
+
+    private final PdfRenderingResources renderingResources;
+    private final PdfStageMetrics stageMetrics;
+    private final PdfImageFetcher imageFetcher;
+
+    @Override
+    public PdfRenderEngine engine() {
+        return PdfRenderEngine.LAYOUT;
+    }
+
+    @Override
+    public void render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt,
+                       OutputStream outputStream) throws IOException {
+        PdfStageMetrics.Trace trace = trace(engine(), request);
+        try (PdfDocument pdfDocument = new PdfDocument(newWriter(outputStream))) {
+            pdfDocument.getDocumentInfo().setTitle("Wedding Customization - " + request.getEventName());
+            Document document = new Document(pdfDocument, PageSize.A4);
+            trace.time(PdfStageMetrics.Stage.LAYOUT, () -> {
+                document.setMargins(PAGE_MARGIN, PAGE_MARGIN, PAGE_MARGIN, PAGE_MARGIN);
+                applyTypography(document);
+
+                if (section.first()) {
+                    document.add(header(request.getEventName()));
+                }
+                document.add(content(section, trace));
+                if (section.last()) {
+                    document.add(footer(generatedAt));
+                }
+                return null;
+            });
+            trace.time(PdfStageMetrics.Stage.WRITE, () -> {
+                document.close();
+                return null;
+            });
+        }
+    }
+
+    PdfStageMetrics.Trace trace(PdfRenderEngine engine, PdfGenerationRequest request) {
+        return stageMetrics.trace(engine, request.getSelectedImages().size());
+    }
+
+    DocumentImages newDocumentImages(PdfStageMetrics.Trace trace) {
+        return new DocumentImages(trace, imageFetcher, renderingResources.isCompactOutput());
+    }
+
+    PdfWriter newWriter(OutputStream outputStream) {
+        return renderingResources.newWriter(outputStream);
+    }
+
+    void applyTypography(Document document) {
+        document.setFontProvider(renderingResources.newFontProvider());
+        document.setFontFamily("Helvetica");
+        document.setFontSize(12f);
+    }
+
+    Div header(String eventName) {
+        return new Div()
+                .setBackgroundColor(ACCENT)
+                .setFontColor(ColorConstants.WHITE)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setPadding(22.5f)
+                .setBorderRadius(new BorderRadius(7.5f))
+                .setMarginBottom(22.5f)
+                .add(new Paragraph(eventName + " Customization").setBold().setFontSize(30f).setMargin(0))
+                .add(new Paragraph("Your Perfect Wedding Event Configuration").setFontSize(14.4f).setMarginTop(7.5f).setMarginBottom(0));
+    }
+
+    private Div content(BrochureSection section, PdfStageMetrics.Trace trace) throws IOException {
+        Table grid = imageGrid();
+        DocumentImages images = newDocumentImages(trace);
+        for (PdfGenerationRequest.SelectedImage image : section.images()) {
+            grid.addCell(imageItem(image, images));
+        }
+        return contentSection(section.title()).add(grid);
+    }
+
+    Table imageGrid() {
+        return new Table(UnitValue.createPercentArray(1))
+                .useAllAvailableWidth()
+                .setBorder(Border.NO_BORDER);
+    }
+
+    /**
+     * The white panel headed by the section title, without the decorations themselves.
+     */
+    Div contentSection(String title) {
+        return new Div()
+                .setBackgroundColor(ColorConstants.WHITE)
+                .setPadding(CONTENT_PADDING)
+                .setBorderRadius(new BorderRadius(7.5f))
+                .add(new Paragraph(title)
+                        .setBold()
+                        .setFontSize(18f)
+                        .setFontColor(HEADING)
+                        .setBorderBottom(new SolidBorder(ACCENT, 2.25f))
+                        .setPaddingBottom(7.5f)
+                        .setMarginBottom(15f));
+    }
+
+    Cell imageItem(PdfGenerationRequest.SelectedImage image, DocumentImages images) throws IOException {
+        Cell cell = new Cell()
+                .setBorder(new SolidBorder(ITEM_BORDER, 1.5f))
+                .setBorderRadius(new BorderRadius(7.5f))
+                .setBackgroundColor(ITEM_BACKGROUND)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setPadding(15f)
+                .setKeepTogether(true);
+
+        PdfImageXObject picture = images.get(image.getImageUrl());
+        if (picture != null) {
+            cell.add(new Image(picture)
+                    .setHeight(IMAGE_HEIGHT)
+                    .setMaxWidth(UnitValue.createPercentValue(100))
+                    .setHorizontalAlignment(HorizontalAlignment.CENTER)
+                    .setMarginBottom(11.25f));
+        }
+        cell.add(new Paragraph(nullToEmpty(image.getStageName())).setBold().setFontSize(14f).setFontColor(ACCENT).setMarginTop(7.5f));
+        cell.add(new Paragraph(new Text(nullToEmpty(image.getImageName())).setBold()).setFontColor(MUTED));
+        if (image.getDescription() != null && !image.getDescription().trim().isEmpty()) {
+            cell.add(new Paragraph(image.getDescription()).setFontSize(10.8f).setFontColor(MUTED).setMultipliedLeading(1.4f));
+        }
+        return cell;
+    }
+
+    Div footer(LocalDateTime generatedAt) {
+        return new Div()
+                .setTextAlignment(TextAlignment.CENTER)
+                .setFontColor(MUTED)
+                .setMarginTop(30f)
+                .setPadding(15f)
+                .setBorderTop(new SolidBorder(ITEM_BORDER, 0.75f))
+                .add(new Paragraph()
+                        .add("Generated on: ")
+                        .add(new Text(generatedAt.format(BrochureTemplate.GENERATED_DATE_FORMAT)).setItalic()))
+                .add(new Paragraph("Thank you for choosing our wedding customization service!"));
+    }
+
+    /**
+     * An image that cannot be fetched shows the fetcher's placeholder; one that is not a
+     * picture at all leaves the decoration listed without it, like html2pdf does.
+     */
+    private static ImageData loadImage(String imageUrl, PdfImageFetcher imageFetcher) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return null;
+        }
+        try {
+            return ImageDataFactory.create(imageFetcher.fetch(UrlUtil.toURL(imageUrl)));
+        } catch (Exception e) {
+            log.warn("Skipping image {} in PDF: {}", imageUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * The pictures of one document. A photo shown by several decorations through the same URL
+     * is embedded as a single XObject; in compact mode so is one behind different URLs serving
+     * identical bytes.
+     */
+    static final class DocumentImages {
+
+        private final PdfStageMetrics.Trace trace;
+        private final PdfImageFetcher imageFetcher;
+        private final Map<String, Optional<PdfImageXObject>> byUrl = new HashMap<>();
+        private final Map<ByteBuffer, PdfImageXObject> byContent = new HashMap<>();
+        private final boolean shareIdenticalContent;
+
+        DocumentImages(PdfStageMetrics.Trace trace, PdfImageFetcher imageFetcher, boolean shareIdenticalContent) {
+            this.trace = trace;
+            this.imageFetcher = imageFetcher;
+            this.shareIdenticalContent = shareIdenticalContent;
+        }
+
+        PdfImageXObject get(String imageUrl) throws IOException {
+            if (imageUrl == null || imageUrl.isBlank()) {
+                return null;
+            }
+            Optional<PdfImageXObject> picture = byUrl.get(imageUrl);
+            if (picture == null) {
+                ImageData data = trace.time(PdfStageMetrics.Stage.FETCH_RESOURCES, () -> loadImage(imageUrl, imageFetcher));
+                picture = Optional.ofNullable(data).map(loaded -> shareIdenticalContent
+                        ? byContent.computeIfAbsent(ByteBuffer.wrap(loaded.getData()), content -> new PdfImageXObject(loaded))
+                        : new PdfImageXObject(loaded));
+                byUrl.put(imageUrl, picture);
+            }
+            return picture.orElse(null);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered brochures kept on disk for a short while so clients can download them through a
+ * link instead of receiving them inline.
+ * <p>
+ * Files are named by the SHA-256 of their content, so the same brochure stored for several
+ * links occupies the disk once. Each link is an unguessable token that expires after
+ * {@code app.pdf.artifacts.ttl}; a file is deleted once no live link refers to it.
+ * <p>
+ * A brochure reserves its size and one link before it is copied in, so concurrent stores
+ * cannot together go past {@code app.pdf.artifacts.max-disk-size} or
+ * {@code app.pdf.artifacts.max-links}; once either is reached, new brochures are rejected.
+ */
+@Component
+@Slf4j
+public class PdfArtifactStore {
+
+    private static final String FILE_SUFFIX = ".pdf";
+    private static final String PART_SUFFIX = ".part";
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    private static final int TOKEN_BYTES = 18;
+    // A download that passed the expiry check may still be opening the file
+    private static final Duration DELETE_GRACE = Duration.ofMinutes(1);
+
+    private final Path directory;
+    private final Duration ttl;
+    private final long maxDiskBytes;
+    private final int maxLinks;
+    private final Duration retryAfter;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Map<String, Artifact> links = new ConcurrentHashMap<>();
+    // Guarded by this; both counts include reservations for stores still copying
+    private final Map<String, Blob> blobs = new HashMap<>();
+    private long diskBytes;
+    private int linkCount;
+    private volatile Instant lastSweep = Instant.MIN;
+
+    @Autowired
+    public PdfArtifactStore(PdfProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    PdfArtifactStore(PdfProperties properties, Clock clock) {
+        PdfProperties.Artifacts settings = properties.getArtifacts();
+        this.ttl = settings.getTtl();
+        this.maxDiskBytes = settings.getMaxDiskSize().toBytes();
+        this.maxLinks = settings.getMaxLinks();
+        this.retryAfter = properties.getBulkhead().getRetryAfter();
+        this.clock = clock;
+        this.directory = StringUtils.hasText(settings.getDirectory())
+                ? prepareDirectory(Paths.get(settings.getDirectory()))
+                : null;
+    }
+
+    /**
+     * Copies the brochure into the store and returns a new link to it. The content is left
+     * open for the caller to close.
+     */
+    public Artifact store(PdfContent content, String fileName) throws IOException {
+        if (directory == null) {
+            throw new IOException("PDF artifact store is not configured");
+        }
+        sweepExpired();
+        reserve(content.size());
+
+        boolean registered = false;
+        Path part = null;
+        try {
+            part = Files.createTempFile(directory, "artifact-", PART_SUFFIX);
+            MessageDigest digest = sha256();
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(part), FILE_BUFFER_SIZE), digest)) {
+                content.writeTo(out);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Artifact artifact = new Artifact(newToken(), sha256, fileName, content.size(),
+                    clock.instant().plus(ttl), directory.resolve(sha256 + FILE_SUFFIX));
+            register(artifact, part);
+            registered = true;
+            links.put(artifact.token(), artifact);
+            log.debug("Stored PDF artifact {} ({} bytes) until {}", sha256, artifact.size(), artifact.expiresAt());
+            return artifact;
+        } finally {
+            if (!registered) {
+                unreserve(content.size());
+            }
+            if (part != null) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * The artifact behind a link, unless the link is unknown or has expired.
+     */
+    public Optional<Artifact> find(String token) {
+        sweepExpired();
+        return Optional.ofNullable(token != null ? links.get(token) : null)
+                .filter(artifact -> clock.instant().isBefore(artifact.expiresAt()));
+    }
+
+    /**
+     * Copies {@code count} bytes starting at {@code start} through {@link FileChannel#transferTo}.
+     */
+    public void transferTo(Artifact artifact, long start, long count, OutputStream outputStream) throws IOException {
+        try (FileChannel channel = FileChannel.open(artifact.file(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        }
+    }
+
+    public synchronized long getDiskBytes() {
+        return diskBytes;
+    }
+
+    public synchronized int getFileCount() {
+        return blobs.size();
+    }
+
+    public synchronized int getLinkCount() {
+        return linkCount;
+    }
+
+    private synchronized void reserve(long size) {
+        if (diskBytes + size > maxDiskBytes || linkCount >= maxLinks) {
+            throw new ServiceOverloadedException("PDF download storage is full", 503, retryAfter);
+        }
+        diskBytes += size;
+        linkCount++;
+    }
+
+    private synchronized void unreserve(long size) {
+        diskBytes -= size;
+        linkCount--;
+    }
+
+    /**
+     * Turns the reservation into a link. Content already stored under the same hash hands
+     * its byte reservation back.
+     */
+    private synchronized void register(Artifact artifact, Path part) throws IOException {
+        Blob blob = blobs.get(artifact.sha256());
+        if (blob == null) {
+            Files.move(part, artifact.file(), StandardCopyOption.REPLACE_EXISTING);
+            blob = new Blob();
+            blobs.put(artifact.sha256(), blob);
+        } else {
+            diskBytes -= artifact.size();
+        }
+        blob.links++;
+    }
+
+    private synchronized void release(Artifact artifact) {
+        linkCount--;
+        Blob blob = blobs.get(artifact.sha256());
+        if (blob != null && --blob.links == 0) {
+            blobs.remove(artifact.sha256());
+            diskBytes -= artifact.size();
+            deleteQuietly(artifact.file());
+        }
+    }
+
+    private void sweepExpired() {
+        Instant now = clock.instant();
+        if (now.isBefore(lastSweep.plus(ttl.dividedBy(4)))) {
+            return;
+        }
+        lastSweep = now;
+        links.values().removeIf(artifact -> {
+            boolean expired = now.isAfter(artifact.expiresAt().plus(DELETE_GRACE));
+            if (expired) {
+                release(artifact);
+            }
+            return expired;
+        });
+    }
+
+    private String newToken() {
+        byte[] token = new byte[TOKEN_BYTES];
+        random.nextBytes(token);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * A download link: the token that names it and the stored file it points to.
+     */
+    public record Artifact(String token, String sha256, String fileName, long size, Instant expiresAt, Path file) {
+
+        public String etag() {
+            return "\"" + sha256 + "\"";
+        }
+    }
+
+    private static final class Blob {
+        private int links;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete PDF artifact {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Links live in memory only, so files left by a previous run can never be downloaded.
+     */
+    private static Path prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(directory, "*{" + FILE_SUFFIX + "," + PART_SUFFIX + "}")) {
+                staleFiles.forEach(PdfArtifactStore::deleteQuietly);
+            }
+            return directory;
+        } catch (IOException e) {
+            log.warn("PDF download links disabled, directory {} is not usable: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.wedding.eventcustomization.pdf;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Documents of a batch rendering in parallel, written into a ZIP in the order they finish.
+ * <p>
+ * PDFs are already compressed, so entries are {@code STORED}; each entry is flushed as soon as
+ * its document completes, letting the first bytes reach the client while the rest render.
+ * A document that fails is replaced by a {@code .error.txt} entry rather than failing the
+ * whole archive.
+ */
+@Slf4j
+public class PdfBatch {
+
+    private final List<String> entryNames;
+    private final List<CompletableFuture<RenderedPdf>> renders;
+    private final BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+
+    public PdfBatch(List<String> entryNames, List<CompletableFuture<RenderedPdf>> renders) {
+        this.entryNames = List.copyOf(entryNames);
+        this.renders = List.copyOf(renders);
+        for (int i = 0; i < this.renders.size(); i++) {
+            int index = i;
+            this.renders.get(i).whenComplete((pdf, error) -> completed.add(index));
+        }
+    }
+
+    public int size() {
+        return renders.size();
+    }
+
+    public void writeZip(OutputStream outputStream) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+            for (int written = 0; written < renders.size(); written++) {
+                int index = completed.take();
+                try (RenderedPdf pdf = renders.get(index).join()) {
+                    writeStoredEntry(zip, entryNames.get(index), pdf.content());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof UncheckedIOException unchecked) {
+                        cause = unchecked.getCause();
+                    }
+                    log.error("Batch PDF {} failed: {}", entryNames.get(index), cause.getMessage());
+                    writeStoredEntry(zip, entryNames.get(index) + ".error.txt", PdfContent.of(
+                            ("PDF generation failed: " + cause.getMessage()).getBytes(StandardCharsets.UTF_8)));
+                }
+                zip.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            throw new InterruptedIOException("Interrupted while streaming PDF batch");
+        } catch (IOException | RuntimeException e) {
+            cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels the renders still running and releases the documents already finished.
+     */
+    public void cancel() {
+        cancel(renders);
+    }
+
+    /**
+     * Cancels renders submitted to the {@link PdfRenderPool}, which releases documents that
+     * finish afterwards, and closes those that had already finished.
+     */
+    public static void cancel(List<CompletableFuture<RenderedPdf>> renders) {
+        renders.forEach(render -> {
+            if (!render.cancel(true) && !render.isCompletedExceptionally()) {
+                closeQuietly(render.join());
+            }
+        });
+    }
+
+    /**
+     * A stored entry needs its CRC up front, so spooled content is read twice rather than
+     * loaded onto the heap.
+     */
+    private static void writeStoredEntry(ZipOutputStream zip, String name, PdfContent content) throws IOException {
+        CRC32 crc = new CRC32();
+        content.writeTo(new CheckedOutputStream(OutputStream.nullOutputStream(), crc));
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.size());
+        entry.setCompressedSize(content.size());
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        content.writeTo(zip);
+        zip.closeEntry();
+    }
+
+    private static void closeQuietly(RenderedPdf pdf) {
+        try {
+            pdf.close();
+        } catch (IOException e) {
+            log.debug("Failed to release batch PDF {}: {}", pdf.fingerprint(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.io.source.IRandomAccessSource;
+import com.itextpdf.io.source.RandomAccessSourceFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The bytes of a generated brochure, held either on the heap or in a file.
+ * <p>
+ * File-backed content keeps its channel open from the moment it is handed out, so the file
+ * may be evicted or cleaned up concurrently without breaking a response already being
+ * written. Callers close the content once they are done with it.
+ */
+public interface PdfContent extends Closeable {
+
+    long size();
+
+    /**
+     * Writes the whole document. File-backed content is transferred straight from its channel
+     * rather than being loaded onto the heap first.
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+
+    byte[] toByteArray() throws IOException;
+
+    /**
+     * A source to open the document with a {@code PdfReader}. File-backed content is read in
+     * place through its channel; closing the source leaves the content open.
+     */
+    default IRandomAccessSource newRandomAccessSource() throws IOException {
+        return new RandomAccessSourceFactory().createSource(toByteArray());
+    }
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    static PdfContent of(byte[] content) {
+        return new InMemory(content);
+    }
+
+    record InMemory(byte[] content) implements PdfContent {
+
+        @Override
+        public long size() {
+            return content.length;
+        }
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(content);
+        }
+
+        @Override
+        public byte[] toByteArray() {
+            return content;
+        }
+    }
+}
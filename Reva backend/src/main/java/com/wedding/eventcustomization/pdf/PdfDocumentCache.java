@@ -0,0 +1,308 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.service.CatalogChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Two-tier LRU cache of generated brochures keyed by {@link PdfRequestFingerprint}.
+ * <p>
+ * Entries live in memory up to {@code app.pdf.cache.max-memory-size}; the least recently used
+ * ones are demoted to the disk directory, which is itself bounded by
+ * {@code app.pdf.cache.max-disk-size}. Each entry remembers the decoration images it was built
+ * from so a catalog change drops every brochure showing that image.
+ * <p>
+ * Files are written outside the cache's lock and only published under it, so lookups never
+ * wait on disk I/O. Every disk entry gets a file of its own, so a reader still opening a
+ * replaced entry's file cannot be confused with the entry that replaced it.
+ */
+@Component
+@Slf4j
+public class PdfDocumentCache {
+
+    private static final String FILE_PREFIX = "pdf-";
+    private static final String FILE_SUFFIX = ".pdf";
+
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path diskDirectory;
+
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(64, 0.75f, true);
+    // Evicted from memory, still served from there until their file is published
+    private final Map<String, byte[]> demotingEntries = new HashMap<>();
+    private final LinkedHashMap<String, DiskEntry> diskEntries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<Long>> imageIdsByKey = new HashMap<>();
+    private final Map<Long, Set<String>> keysByImageId = new HashMap<>();
+    private long memoryBytes;
+    private long diskBytes;
+
+    public PdfDocumentCache(PdfProperties properties) {
+        PdfProperties.Cache settings = properties.getCache();
+        this.enabled = settings.isEnabled();
+        this.maxMemoryBytes = settings.getMaxMemorySize().toBytes();
+        this.maxDiskBytes = settings.getMaxDiskSize().toBytes();
+        this.diskDirectory = enabled && StringUtils.hasText(settings.getDiskDirectory())
+                ? prepareDiskDirectory(Paths.get(settings.getDiskDirectory()))
+                : null;
+    }
+
+    /**
+     * Disk entries are returned as file-backed content that the caller must close.
+     */
+    public Optional<PdfContent> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        DiskEntry entry;
+        synchronized (this) {
+            byte[] content = memoryEntries.get(key);
+            if (content == null) {
+                content = demotingEntries.get(key);
+            }
+            if (content != null) {
+                return Optional.of(PdfContent.of(content));
+            }
+            entry = diskEntries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.of(FilePdfContent.open(entry.file(), () -> { }));
+        } catch (IOException e) {
+            log.warn("Dropping unreadable cached PDF {}: {}", key, e.getMessage());
+            synchronized (this) {
+                // A concurrent put may have replaced the entry since; that one stays
+                if (diskEntries.get(key) == entry) {
+                    remove(key);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, Collection<Long> imageIds, byte[] content) {
+        if (!enabled || content.length > maxMemoryBytes) {
+            return;
+        }
+        List<Map.Entry<String, byte[]>> evicted;
+        synchronized (this) {
+            remove(key);
+            memoryEntries.put(key, content);
+            memoryBytes += content.length;
+            rememberImages(key, imageIds);
+            evicted = evictFromMemory();
+        }
+        evicted.forEach(entry -> demoteToDisk(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Caches the content in memory when it is already there, and copies spooled content
+     * straight into the disk tier so it never has to be loaded onto the heap.
+     */
+    public void put(String key, Collection<Long> imageIds, PdfContent content) {
+        if (content instanceof PdfContent.InMemory inMemory) {
+            put(key, imageIds, inMemory.content());
+            return;
+        }
+        if (!enabled || diskDirectory == null || content.size() > maxDiskBytes) {
+            return;
+        }
+        Path file = writeFile(key, content::writeTo);
+        if (file == null) {
+            return;
+        }
+        synchronized (this) {
+            remove(key);
+            publishOnDisk(key, new DiskEntry(file, content.size()));
+            rememberImages(key, imageIds);
+        }
+    }
+
+    public synchronized void invalidateImage(Long decorationImageId) {
+        Set<String> keys = keysByImageId.remove(decorationImageId);
+        if (keys == null) {
+            return;
+        }
+        keys.forEach(this::remove);
+        log.debug("Invalidated {} cached PDFs referencing decoration image {}", keys.size(), decorationImageId);
+    }
+
+    public synchronized void clear() {
+        memoryEntries.clear();
+        demotingEntries.clear();
+        new HashSet<>(diskEntries.keySet()).forEach(this::removeDiskEntry);
+        imageIdsByKey.clear();
+        keysByImageId.clear();
+        memoryBytes = 0;
+    }
+
+    public synchronized int size() {
+        return memoryEntries.size() + demotingEntries.size() + diskEntries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.decorationImageId() != null) {
+            invalidateImage(event.decorationImageId());
+        }
+    }
+
+    private void remove(String key) {
+        byte[] content = memoryEntries.remove(key);
+        if (content != null) {
+            memoryBytes -= content.length;
+        }
+        demotingEntries.remove(key);
+        removeDiskEntry(key);
+        forgetImages(key);
+    }
+
+    private void rememberImages(String key, Collection<Long> imageIds) {
+        Set<Long> ids = new HashSet<>(imageIds);
+        ids.remove(null);
+        imageIdsByKey.put(key, ids);
+        ids.forEach(imageId -> keysByImageId.computeIfAbsent(imageId, id -> new HashSet<>()).add(key));
+    }
+
+    /**
+     * Moves the least recently used entries over the memory bound to the demoting set and
+     * returns them, for the caller to write out once it has released the lock.
+     */
+    private List<Map.Entry<String, byte[]>> evictFromMemory() {
+        List<Map.Entry<String, byte[]>> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, byte[]>> iterator = memoryEntries.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+            Map.Entry<String, byte[]> eldest = iterator.next();
+            iterator.remove();
+            memoryBytes -= eldest.getValue().length;
+            demotingEntries.put(eldest.getKey(), eldest.getValue());
+            evicted.add(Map.entry(eldest.getKey(), eldest.getValue()));
+        }
+        return evicted;
+    }
+
+    private void demoteToDisk(String key, byte[] content) {
+        Path file = diskDirectory != null && content.length <= maxDiskBytes
+                ? writeFile(key, outputStream -> outputStream.write(content))
+                : null;
+        synchronized (this) {
+            // Replaced or invalidated while it was being written
+            if (!demotingEntries.remove(key, content)) {
+                if (file != null) {
+                    deleteQuietly(file);
+                }
+                return;
+            }
+            if (file != null) {
+                publishOnDisk(key, new DiskEntry(file, content.length));
+            } else {
+                forgetImages(key);
+            }
+        }
+    }
+
+    private Path writeFile(String key, ContentWriter writer) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(diskDirectory, FILE_PREFIX, FILE_SUFFIX);
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                writer.write(outputStream);
+            }
+            return file;
+        } catch (IOException e) {
+            log.warn("Failed to write cached PDF {} to disk: {}", key, e.getMessage());
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            return null;
+        }
+    }
+
+    private void publishOnDisk(String key, DiskEntry entry) {
+        diskEntries.put(key, entry);
+        diskBytes += entry.size();
+        Iterator<Map.Entry<String, DiskEntry>> iterator = diskEntries.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && iterator.hasNext()) {
+            Map.Entry<String, DiskEntry> eldest = iterator.next();
+            iterator.remove();
+            diskBytes -= eldest.getValue().size();
+            deleteQuietly(eldest.getValue().file());
+            forgetImages(eldest.getKey());
+        }
+    }
+
+    private void removeDiskEntry(String key) {
+        DiskEntry entry = diskEntries.remove(key);
+        if (entry != null) {
+            diskBytes -= entry.size();
+            deleteQuietly(entry.file());
+        }
+    }
+
+    private void forgetImages(String key) {
+        Set<Long> imageIds = imageIdsByKey.remove(key);
+        if (imageIds != null) {
+            imageIds.forEach(imageId -> {
+                Set<String> keys = keysByImageId.get(imageId);
+                if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                    keysByImageId.remove(imageId);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface ContentWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private record DiskEntry(Path file, long size) {
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete cached PDF file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * The disk tier's index is not persisted, so files left by a previous run could never be
+     * invalidated; they are removed rather than reused.
+     */
+    private static Path prepareDiskDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                staleFiles.forEach(PdfDocumentCache::deleteQuietly);
+            }
+            return directory;
+        } catch (IOException e) {
+            log.warn("PDF disk cache disabled, directory {} is not usable: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.service.CatalogChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory LRU of pre-rendered decoration fragments, bounded by
+ * {@code app.pdf.fragments.max-memory-size}.
+ * <p>
+ * A fragment is keyed by everything that is drawn for the decoration, so an edited image gets
+ * a new key; the old fragments are dropped on the matching {@link CatalogChangedEvent}.
+ */
+@Component
+public class PdfFragmentCache {
+
+    private final long maxMemoryBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<Long, Set<String>> keysByImageId = new HashMap<>();
+    private long memoryBytes;
+
+    public PdfFragmentCache(PdfProperties properties) {
+        this.maxMemoryBytes = properties.getFragments().getMaxMemorySize().toBytes();
+    }
+
+    /**
+     * The cached fragment for the image, or null on a miss.
+     */
+    public synchronized byte[] getIfPresent(PdfGenerationRequest.SelectedImage image) {
+        Entry entry = entries.get(PdfRequestFingerprint.ofFragment(image));
+        return entry != null ? entry.content() : null;
+    }
+
+    /**
+     * Caches a rendered fragment. Concurrent misses for the same fragment may both render;
+     * the last one is kept.
+     */
+    public void put(PdfGenerationRequest.SelectedImage image, byte[] content) {
+        put(PdfRequestFingerprint.ofFragment(image), image.getImageId(), content);
+    }
+
+    public synchronized void invalidateImage(Long decorationImageId) {
+        Set<String> keys = keysByImageId.remove(decorationImageId);
+        if (keys != null) {
+            keys.forEach(key -> {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    memoryBytes -= entry.content().length;
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysByImageId.clear();
+        memoryBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        // Type renames change the drawn stage name, which is part of the key, so stale
+        // fragments for them are never looked up again and simply age out
+        if (event.decorationImageId() != null) {
+            invalidateImage(event.decorationImageId());
+        }
+    }
+
+    private synchronized void put(String key, Long imageId, byte[] content) {
+        if (content.length > maxMemoryBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(imageId, content));
+        if (previous != null) {
+            memoryBytes -= previous.content().length;
+        }
+        memoryBytes += content.length;
+        if (imageId != null) {
+            keysByImageId.computeIfAbsent(imageId, id -> new HashSet<>()).add(key);
+        }
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && iterator.hasNext()) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            memoryBytes -= eldest.getValue().content().length;
+            Set<String> keys = keysByImageId.get(eldest.getValue().imageId());
+            if (keys != null && keys.remove(eldest.getKey()) && keys.isEmpty()) {
+                keysByImageId.remove(eldest.getValue().imageId());
+            }
+        }
+    }
+
+    private record Entry(Long imageId, byte[] content) {
+    }
+}
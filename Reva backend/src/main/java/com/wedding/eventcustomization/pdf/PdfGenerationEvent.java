@@ -0,0 +1,40 @@
+package com.wedding.eventcustomization.pdf;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder view of one brochure request, from cache lookup to finished document. The
+ * {@link PdfStageEvent}s of its render are nested inside it on the same thread.
+ */
+@Name("com.wedding.pdf.Generation")
+@Label("PDF Generation")
+@Category({"Wedding", "PDF"})
+@Description("Generation of a brochure PDF")
+@StackTrace(false)
+public class PdfGenerationEvent extends Event {
+
+    @Label("Fingerprint")
+    public String fingerprint;
+
+    @Label("Engine")
+    public String engine;
+
+    @Label("Images")
+    public int imageCount;
+
+    @Label("Sectioned")
+    public boolean sectioned;
+
+    @Label("From Cache")
+    public boolean fromCache;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+}
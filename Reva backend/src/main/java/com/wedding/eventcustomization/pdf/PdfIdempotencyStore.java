@@ -0,0 +1,219 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.ToLongFunction;
+
+/**
+ * Results of PDF requests carrying an {@code Idempotency-Key}, so a client retrying after a
+ * dropped connection gets the document it already paid for instead of rendering it again.
+ * <p>
+ * A duplicate arriving while the first request is still rendering waits for that render and
+ * shares its result. Completed results are replayed for {@code app.pdf.idempotency.replay-window},
+ * bounded by {@code max-entries} and {@code max-memory-size} with the oldest dropped first;
+ * failures are not kept, so a retry after an error renders again. Reusing a key for a
+ * different request is rejected. Keys belong to the client that sent them, so one client
+ * cannot replay another's document by guessing its key.
+ * <p>
+ * Results heavier than {@code max-memory-size}, or weighed as {@link #NOT_SHARED}, are
+ * handed to the first caller only: duplicates in flight run the call themselves, and later
+ * retries render again.
+ */
+@Component
+@Slf4j
+public class PdfIdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    /**
+     * Weight of a result that holds resources its caller releases, such as a spooled file.
+     */
+    public static final long NOT_SHARED = Long.MAX_VALUE;
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Object UNSHARED_RESULT = new Object();
+
+    private final long replayWindowNanos;
+    private final int maxEntries;
+    private final long maxMemoryBytes;
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter replayed;
+
+    // Insertion order is expiry order, every entry lives for the same window
+    private final LinkedHashMap<String, Completed> completed = new LinkedHashMap<>();
+    private final Map<String, InFlight> inFlight = new HashMap<>();
+    private long memoryBytes;
+
+    public PdfIdempotencyStore(PdfProperties properties, MeterRegistry meterRegistry) {
+        PdfProperties.Idempotency settings = properties.getIdempotency();
+        this.replayWindowNanos = settings.getReplayWindow().toNanos();
+        this.maxEntries = settings.getMaxEntries();
+        this.maxMemoryBytes = settings.getMaxMemorySize().toBytes();
+        this.executed = requestCounter(meterRegistry, "executed");
+        this.joined = requestCounter(meterRegistry, "joined");
+        this.replayed = requestCounter(meterRegistry, "replayed");
+    }
+
+    /**
+     * Runs {@code call} once per key and request, or returns the result of the earlier or
+     * concurrent run. A result within {@code max-memory-size} is shared between callers, so
+     * it must not hold resources that one of them would release.
+     *
+     * @param scope   the endpoint, keys are only matched within one
+     * @param client  the principal or address of the caller, keys are only matched within one
+     * @param weigher approximate heap size of a result, counted against {@code max-memory-size}
+     */
+    public <T> T execute(String scope, String client, String idempotencyKey, Object request,
+                         PdfRenderBulkhead.RenderTask<T> call, ToLongFunction<? super T> weigher) throws IOException {
+        validate(idempotencyKey);
+        String key = scope + " " + client + " " + idempotencyKey;
+        InFlight leader;
+        CompletableFuture<Object> pending;
+        synchronized (this) {
+            expire();
+            Completed done = completed.get(key);
+            if (done != null) {
+                checkSameRequest(scope, done.request(), request);
+                replayed.increment();
+                log.debug("Replaying PDF result for idempotency key {}", key);
+                return cast(done.result());
+            }
+            InFlight running = inFlight.get(key);
+            if (running != null) {
+                checkSameRequest(scope, running.request(), request);
+                joined.increment();
+                pending = running.result();
+                leader = null;
+            } else {
+                leader = new InFlight(request, new CompletableFuture<>());
+                inFlight.put(key, leader);
+                pending = null;
+            }
+        }
+
+        if (leader == null) {
+            log.debug("Waiting for the in-flight PDF render of idempotency key {}", key);
+            Object result = await(pending);
+            if (result == UNSHARED_RESULT) {
+                log.debug("In-flight PDF result for idempotency key {} is not shared, rendering again", key);
+                return call.render();
+            }
+            return cast(result);
+        }
+
+        executed.increment();
+        T result;
+        try {
+            result = call.render();
+        } catch (IOException | RuntimeException | Error e) {
+            synchronized (this) {
+                inFlight.remove(key);
+            }
+            leader.result().completeExceptionally(e);
+            throw e;
+        }
+        long weight = weigher.applyAsLong(result);
+        boolean shared = weight <= maxMemoryBytes;
+        synchronized (this) {
+            inFlight.remove(key);
+            if (shared) {
+                remember(key, new Completed(request, result, weight, System.nanoTime() + replayWindowNanos));
+            }
+        }
+        if (!shared) {
+            log.debug("PDF result for idempotency key {} is too large to share or replay", key);
+        }
+        leader.result().complete(shared ? result : UNSHARED_RESULT);
+        return result;
+    }
+
+    public synchronized int size() {
+        return completed.size();
+    }
+
+    private void remember(String key, Completed entry) {
+        completed.put(key, entry);
+        memoryBytes += entry.weight();
+        Iterator<Completed> oldest = completed.values().iterator();
+        while ((completed.size() > maxEntries || memoryBytes > maxMemoryBytes) && oldest.hasNext()) {
+            memoryBytes -= oldest.next().weight();
+            oldest.remove();
+        }
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+        Iterator<Completed> oldest = completed.values().iterator();
+        while (oldest.hasNext()) {
+            Completed entry = oldest.next();
+            if (entry.expiresAt() - now > 0) {
+                return;
+            }
+            memoryBytes -= entry.weight();
+            oldest.remove();
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> pending) throws IOException {
+        try {
+            return pending.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException io) {
+                throw new IOException(io.getMessage(), io);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                // Rethrown as is so a rejection still maps to its status and Retry-After
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static void checkSameRequest(String scope, Object original, Object request) {
+        if (!Objects.equals(original, request)) {
+            throw new IllegalArgumentException(HEADER + " was already used for a different " + scope + " request");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object result) {
+        return (T) result;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("pdf.idempotent.requests")
+                .description("PDF requests carrying an Idempotency-Key")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record InFlight(Object request, CompletableFuture<Object> result) {
+    }
+
+    private record Completed(Object request, Object result, long weight, long expiresAt) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.styledxmlparser.resolver.resource.DefaultResourceRetriever;
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+import com.wedding.eventcustomization.config.PdfProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fetches brochure images from remote hosts without letting a slow or failing host stall
+ * rendering.
+ * <p>
+ * Every fetch is bounded by {@code app.pdf.images.connect-timeout} plus
+ * {@code app.pdf.images.read-timeout} for the whole body. After
+ * {@code app.pdf.images.failure-threshold} consecutive failures a host's breaker opens and its
+ * images are replaced by a placeholder without being requested, until
+ * {@code app.pdf.images.open-duration} has passed and a single trial fetch decides whether it
+ * closes again. A render therefore waits at most the threshold times the fetch bound per
+ * failing host. Breaker states are published as {@code pdf.image.breaker.state} per host.
+ * <p>
+ * Local resources ({@code file:} URLs) are read directly, outside any breaker.
+ */
+@Component
+@Slf4j
+public class PdfImageFetcher {
+
+    public enum BreakerState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public static final String PLACEHOLDER_RESOURCE = "pdf/image-unavailable.png";
+
+    private static final int MAX_REMEMBERED_FALLBACKS = 1_000;
+
+    private final int connectTimeoutMillis;
+    private final long readTimeoutNanos;
+    private final long maxImageBytes;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final MeterRegistry meterRegistry;
+    private final DefaultResourceRetriever localRetriever = new DefaultResourceRetriever();
+    private final byte[] placeholder;
+
+    private final Map<String, HostBreaker> breakers = new ConcurrentHashMap<>();
+    // URL -> when it was last replaced by the placeholder
+    private final Map<String, Long> fallbacks = new ConcurrentHashMap<>();
+
+    public PdfImageFetcher(PdfProperties properties, MeterRegistry meterRegistry) {
+        PdfProperties.Images settings = properties.getImages();
+        this.connectTimeoutMillis = (int) settings.getConnectTimeout().toMillis();
+        this.readTimeoutNanos = settings.getReadTimeout().toNanos();
+        this.maxImageBytes = settings.getMaxSize().toBytes();
+        this.failureThreshold = Math.max(1, settings.getFailureThreshold());
+        this.openNanos = settings.getOpenDuration().toNanos();
+        this.meterRegistry = meterRegistry;
+        this.localRetriever.setResourceSizeByteLimit(maxImageBytes);
+        this.placeholder = placeholderImage();
+    }
+
+    /**
+     * The image at {@code url}, or the placeholder when it cannot be fetched in time.
+     */
+    public byte[] fetch(URL url) {
+        byte[] image = tryFetch(url);
+        if (image != null) {
+            return image;
+        }
+        rememberFallback(url.toString());
+        return placeholder;
+    }
+
+    /**
+     * Adapter for html2pdf. Images come through {@code getByteArrayByUrl} and get the
+     * placeholder; stylesheets come as streams and are simply missing when they fail.
+     */
+    public IResourceRetriever retriever() {
+        return new IResourceRetriever() {
+            @Override
+            public InputStream getInputStreamByUrl(URL url) {
+                byte[] resource = tryFetch(url);
+                return resource != null ? new ByteArrayInputStream(resource) : null;
+            }
+
+            @Override
+            public byte[] getByteArrayByUrl(URL url) {
+                return fetch(url);
+            }
+        };
+    }
+
+    /**
+     * Whether any of the URLs was replaced by the placeholder at or after {@code sinceNanos}
+     * ({@link System#nanoTime()}), i.e. whether a document rendered since then is incomplete.
+     */
+    public boolean usedFallbackSince(Collection<String> urls, long sinceNanos) {
+        for (String url : urls) {
+            Long fellBackAt = url != null ? fallbacks.get(url) : null;
+            if (fellBackAt != null && fellBackAt - sinceNanos >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public BreakerState getBreakerState(String host) {
+        HostBreaker breaker = breakers.get(host.toLowerCase(Locale.ROOT));
+        return breaker != null ? breaker.state() : BreakerState.CLOSED;
+    }
+
+    private byte[] tryFetch(URL url) {
+        if (!isRemote(url)) {
+            try {
+                byte[] resource = localRetriever.getByteArrayByUrl(url);
+                if (resource == null) {
+                    log.warn("Skipping resource {} in PDF: larger than {} bytes", url, maxImageBytes);
+                }
+                return resource;
+            } catch (IOException e) {
+                log.warn("Skipping resource {} in PDF: {}", url, e.getMessage());
+                return null;
+            }
+        }
+
+        String host = url.getHost().toLowerCase(Locale.ROOT);
+        HostBreaker breaker = breakers.computeIfAbsent(host, this::newBreaker);
+        if (!breaker.tryAcquire()) {
+            breaker.shortCircuited.increment();
+            log.debug("Skipping resource {} in PDF: circuit for {} is open", url, host);
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] resource = fetchRemote(url);
+            breaker.onSuccess();
+            breaker.succeeded.increment();
+            return resource;
+        } catch (IOException | RuntimeException e) {
+            breaker.onFailure();
+            breaker.failed.increment();
+            log.warn("Skipping resource {} in PDF: {} after {} ms: {}", url, e.getClass().getSimpleName(),
+                    (System.nanoTime() - start) / 1_000_000, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] fetchRemote(URL url) throws IOException {
+        long deadline = System.nanoTime() + readTimeoutNanos;
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout((int) Math.max(1, readTimeoutNanos / 1_000_000));
+        connection.setRequestProperty("Accept", "image/*");
+        try (InputStream in = connection.getInputStream()) {
+            if (connection instanceof HttpURLConnection http && http.getResponseCode() >= 400) {
+                throw new IOException("HTTP " + http.getResponseCode());
+            }
+            if (connection.getContentLengthLong() > maxImageBytes) {
+                throw new IOException("image of " + connection.getContentLengthLong() + " bytes is too large");
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream(
+                    (int) Math.min(Math.max(connection.getContentLengthLong(), 8192), maxImageBytes));
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                body.write(buffer, 0, read);
+                if (body.size() > maxImageBytes) {
+                    throw new IOException("image exceeds " + maxImageBytes + " bytes");
+                }
+                // The socket timeout bounds each read, a slow trickle is bounded here
+                if (System.nanoTime() - deadline > 0) {
+                    throw new SocketTimeoutException("image took longer than " + Duration.ofNanos(readTimeoutNanos).toMillis() + " ms");
+                }
+            }
+            return body.toByteArray();
+        } finally {
+            if (connection instanceof HttpURLConnection http) {
+                http.disconnect();
+            }
+        }
+    }
+
+    private void rememberFallback(String url) {
+        if (fallbacks.size() >= MAX_REMEMBERED_FALLBACKS) {
+            long horizon = System.nanoTime() - 2 * openNanos;
+            fallbacks.values().removeIf(fellBackAt -> fellBackAt - horizon < 0);
+            if (fallbacks.size() >= MAX_REMEMBERED_FALLBACKS) {
+                fallbacks.clear();
+            }
+        }
+        fallbacks.put(url, System.nanoTime());
+    }
+
+    private HostBreaker newBreaker(String host) {
+        HostBreaker breaker = new HostBreaker(host);
+        Gauge.builder("pdf.image.breaker.state", breaker, b -> b.state().ordinal())
+                .description("Image host circuit breaker: 0 closed, 1 open, 2 half-open")
+                .tag("host", host)
+                .register(meterRegistry);
+        return breaker;
+    }
+
+    private static boolean isRemote(URL url) {
+        String protocol = url.getProtocol();
+        return "http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol);
+    }
+
+    /**
+     * A light grey card reading "Image unavailable", shipped as a resource rather than drawn
+     * with AWT, which a native image would need font and JNI configuration for.
+     */
+    private static byte[] placeholderImage() {
+        try (InputStream in = new ClassPathResource(PLACEHOLDER_RESOURCE).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private final class HostBreaker {
+
+        private final String host;
+        private final Counter succeeded;
+        private final Counter failed;
+        private final Counter shortCircuited;
+
+        private BreakerState state = BreakerState.CLOSED;
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        private HostBreaker(String host) {
+            this.host = host;
+            this.succeeded = fetchCounter(host, "success");
+            this.failed = fetchCounter(host, "failure");
+            this.shortCircuited = fetchCounter(host, "short_circuited");
+        }
+
+        synchronized BreakerState state() {
+            if (state == BreakerState.OPEN && System.nanoTime() - openedAt >= openNanos) {
+                state = BreakerState.HALF_OPEN;
+            }
+            return state;
+        }
+
+        synchronized boolean tryAcquire() {
+            return switch (state()) {
+                case CLOSED -> true;
+                case OPEN -> false;
+                case HALF_OPEN -> {
+                    if (trialInFlight) {
+                        yield false;
+                    }
+                    trialInFlight = true;
+                    yield true;
+                }
+            };
+        }
+
+        synchronized void onSuccess() {
+            if (state != BreakerState.CLOSED) {
+                log.info("Image host {} circuit closed after a successful trial fetch", host);
+            }
+            state = BreakerState.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        }
+
+        synchronized void onFailure() {
+            trialInFlight = false;
+            consecutiveFailures++;
+            if (state == BreakerState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                if (state != BreakerState.OPEN) {
+                    log.warn("Image host {} circuit opened after {} consecutive failures", host, consecutiveFailures);
+                }
+                state = BreakerState.OPEN;
+                openedAt = System.nanoTime();
+            }
+        }
+
+        private Counter fetchCounter(String host, String outcome) {
+            return Counter.builder("pdf.image.fetches")
+                    .description("Remote image fetches for PDF rendering")
+                    .tag("host", host)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
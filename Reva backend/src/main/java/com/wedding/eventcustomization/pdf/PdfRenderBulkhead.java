@@ -0,0 +1,157 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many HTML-to-PDF conversions run at once.
+ * <p>
+ * A render that finds every permit taken waits in a bounded queue for at most
+ * {@code app.pdf.bulkhead.max-queue-wait}; once the queue is full, or the wait runs out, the
+ * request is rejected straight away with a {@link ServiceOverloadedException} carrying the
+ * configured {@code Retry-After}, instead of piling more conversions onto the heap.
+ */
+@Component
+@Slf4j
+public class PdfRenderBulkhead {
+
+    @FunctionalInterface
+    public interface RenderTask<T> {
+        T render() throws IOException;
+    }
+
+    private final Semaphore permits;
+    private final int maxQueuedRenders;
+    private final Duration maxQueueWait;
+    private final Duration retryAfter;
+    private final int rejectionStatus;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer renderTimer;
+    private final Timer queueWaitTimer;
+    private final Counter queueFullRejections;
+    private final Counter queueTimeoutRejections;
+
+    public PdfRenderBulkhead(PdfProperties properties, MeterRegistry meterRegistry) {
+        PdfProperties.Bulkhead settings = properties.getBulkhead();
+        this.permits = new Semaphore(settings.getMaxConcurrentRenders(), true);
+        this.maxQueuedRenders = settings.getMaxQueuedRenders();
+        this.maxQueueWait = settings.getMaxQueueWait();
+        this.retryAfter = settings.getRetryAfter();
+        this.rejectionStatus = settings.getRejectionStatus();
+
+        Gauge.builder("pdf.render.in.flight", inFlight, AtomicInteger::get)
+                .description("PDF renders currently running")
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.queued", queued, AtomicInteger::get)
+                .description("PDF renders waiting for a rendering slot")
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder("pdf.render.duration")
+                .description("Time spent converting a brochure to PDF")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("pdf.render.queue.wait")
+                .description("Time a render waited for a rendering slot")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("pdf.render.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.queueTimeoutRejections = Counter.builder("pdf.render.rejected")
+                .tag("reason", "queue_timeout")
+                .register(meterRegistry);
+    }
+
+    public <T> T execute(RenderTask<T> task) throws IOException {
+        if (!tryAcquireNow()) {
+            awaitPermit();
+        }
+        long start = System.nanoTime();
+        try {
+            return runWithPermit(task);
+        } finally {
+            renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Runs the task only if a rendering slot is free right now, without queueing, for work
+     * such as a section of a document that can fall back to the slot its caller already holds.
+     * Returns empty when every slot is taken or promised to a queued render.
+     */
+    public <T> Optional<T> tryExecute(RenderTask<T> task) throws IOException {
+        return tryAcquireNow() ? Optional.of(runWithPermit(task)) : Optional.empty();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    private <T> T runWithPermit(RenderTask<T> task) throws IOException {
+        inFlight.incrementAndGet();
+        try {
+            return task.render();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private boolean tryAcquireNow() {
+        try {
+            // The timed variant honours fairness, so queued renders are not overtaken; the
+            // untimed tryAcquire() barges even on a fair semaphore
+            return permits.tryAcquire(0, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void awaitPermit() {
+        if (queued.incrementAndGet() > maxQueuedRenders) {
+            queued.decrementAndGet();
+            queueFullRejections.increment();
+            log.warn("Rejecting PDF render: {} renders in flight and {} queued", inFlight.get(), maxQueuedRenders);
+            throw overloaded("PDF rendering is at capacity, please retry later");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+            queueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            queueTimeoutRejections.increment();
+            log.warn("Rejecting PDF render after waiting {} ms for a rendering slot", maxQueueWait.toMillis());
+            throw overloaded("Timed out waiting for a PDF rendering slot, please retry later");
+        }
+    }
+
+    private ServiceOverloadedException overloaded(String message) {
+        return new ServiceOverloadedException(message, rejectionStatus, retryAfter);
+    }
+}
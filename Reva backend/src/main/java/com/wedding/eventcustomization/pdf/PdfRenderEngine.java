@@ -0,0 +1,12 @@
+package com.wedding.eventcustomization.pdf;
+
+/**
+ * How a brochure is laid out: by converting the HTML template with html2pdf, by building the
+ * same document directly with the iText layout API, or by assembling that layout from cached
+ * per-decoration fragments.
+ */
+public enum PdfRenderEngine {
+    HTML,
+    LAYOUT,
+    FRAGMENTS
+}
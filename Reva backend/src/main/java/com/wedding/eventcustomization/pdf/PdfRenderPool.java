@@ -0,0 +1,119 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker threads for renders that run off the request thread, such as the documents of a
+ * batch or the sections of a large document. Renders submitted here still pass through
+ * {@link PdfRenderBulkhead}, documents waiting for a slot and sections only taking one that is
+ * free, so the pool only decides where the work runs, not how much of it runs at once.
+ * <p>
+ * Deliberately not exposed as an {@code Executor} bean, which would replace Spring Boot's
+ * default application task executor.
+ */
+@Component
+@Slf4j
+public class PdfRenderPool {
+
+    private static final ThreadLocal<Boolean> POOL_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+    private final int rejectionStatus;
+    private final Duration retryAfter;
+
+    public PdfRenderPool(PdfProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getRenderPool().getThreads();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getRenderPool().getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(() -> {
+                        POOL_THREAD.set(true);
+                        runnable.run();
+                    }, "pdf-render-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "pdf.render.pool", Collections.emptyList());
+        this.rejectionStatus = properties.getBulkhead().getRejectionStatus();
+        this.retryAfter = properties.getBulkhead().getRetryAfter();
+    }
+
+    /**
+     * Cancelling the returned future interrupts the render if it is running and skips it if it
+     * is still queued. A result that completes after cancellation is closed if it is
+     * {@link Closeable}, so a spooled document is not left behind.
+     */
+    public <T> CompletableFuture<T> submit(PdfRenderBulkhead.RenderTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> execution;
+        try {
+            execution = monitoredExecutor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    T rendered = task.render();
+                    if (!result.complete(rendered)) {
+                        discard(rendered);
+                    }
+                } catch (IOException e) {
+                    result.completeExceptionally(new UncheckedIOException(e));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejecting PDF render: render pool queue is full ({} queued)", executor.getQueue().size());
+            throw new ServiceOverloadedException("PDF render pool is at capacity, please retry later", rejectionStatus, retryAfter);
+        }
+        result.whenComplete((rendered, error) -> {
+            if (result.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public boolean isPoolThread() {
+        return POOL_THREAD.get();
+    }
+
+    private static void discard(Object rendered) {
+        if (rendered instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                log.debug("Failed to release cancelled PDF render: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface PdfRenderer {
+    
+    PdfRenderEngine engine();
+    
+    default byte[] render(PdfGenerationRequest request, LocalDateTime generatedAt) throws IOException {
+        return render(request, BrochureSection.whole(request), generatedAt);
+    }
+    
+    default byte[] render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        render(request, section, generatedAt, outputStream);
+        return outputStream.toByteArray();
+    }
+    
+    /**
+     * Renders one section of the request's brochure as a standalone PDF into the stream,
+     * leaving the stream open.
+     */
+    void render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt,
+                OutputStream outputStream) throws IOException;
+}
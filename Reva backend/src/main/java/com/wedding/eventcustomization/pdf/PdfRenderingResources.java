@@ -0,0 +1,86 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.kernel.pdf.CompressionConstants;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.itextpdf.styledxmlparser.resolver.font.BasicFontProvider;
+import com.wedding.eventcustomization.config.PdfProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * html2pdf resources that are expensive to build and safe to share between renders.
+ * <p>
+ * Loading the standard and shipped fonts is the dominant fixed cost of a conversion, so the
+ * {@link FontSet} is built once and only read afterwards. A {@link FontProvider} caches the
+ * {@code PdfFont}s of the document it is used with, so every render gets its own lightweight
+ * provider over the shared set together with a copy of the prototype properties.
+ */
+@Component
+@Slf4j
+public class PdfRenderingResources {
+
+    private final FontSet fontSet;
+    private final String defaultFontFamily;
+    private final ConverterProperties prototype;
+    private final boolean compactOutput;
+
+    public PdfRenderingResources(PdfProperties properties) {
+        long start = System.nanoTime();
+        FontProvider fontProvider = new DefaultFontProvider(true, true, false);
+        this.fontSet = fontProvider.getFontSet();
+        this.defaultFontFamily = fontProvider.getDefaultFontFamily();
+        this.prototype = new ConverterProperties()
+                .setCharset(StandardCharsets.UTF_8.name());
+        this.compactOutput = properties.isCompactOutput();
+        log.info("Initialized shared PDF font set with {} fonts in {} ms",
+                fontSet.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public ConverterProperties newConverterProperties() {
+        return new ConverterProperties(prototype)
+                .setFontProvider(newFontProvider());
+    }
+
+    public FontProvider newFontProvider() {
+        return new BasicFontProvider(fontSet, defaultFontFamily);
+    }
+
+    /**
+     * Whether {@code app.pdf.compact-output} is on. Renderers then also embed pictures that
+     * different URLs serve with identical bytes only once.
+     */
+    public boolean isCompactOutput() {
+        return compactOutput;
+    }
+
+    /**
+     * A writer that leaves the stream open when the document closes. In compact mode
+     * ({@code app.pdf.compact-output}) objects are packed into compressed object streams and
+     * smart mode writes byte-identical streams copied from other documents, such as the same
+     * photo in two fragments or sections, only once. Embedded fonts are subset either way,
+     * which is the iText default.
+     */
+    public PdfWriter newWriter(OutputStream outputStream) {
+        WriterProperties writerProperties = new WriterProperties();
+        if (compactOutput) {
+            writerProperties.setFullCompressionMode(true)
+                    .setCompressionLevel(CompressionConstants.BEST_COMPRESSION)
+                    .useSmartMode();
+        }
+        PdfWriter writer = new PdfWriter(outputStream, writerProperties);
+        writer.setCloseStream(false);
+        return writer;
+    }
+
+    public FontSet getFontSet() {
+        return fontSet;
+    }
+}
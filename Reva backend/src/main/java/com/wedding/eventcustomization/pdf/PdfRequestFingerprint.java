@@ -0,0 +1,84 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Content address of a brochure: a SHA-256 over the canonical form of the request and the
+ * catalog version of every referenced decoration image, so a catalog edit yields a new key.
+ */
+public final class PdfRequestFingerprint {
+
+    public static final Comparator<PdfGenerationRequest.SelectedImage> CANONICAL_ORDER =
+            Comparator.comparing(PdfGenerationRequest.SelectedImage::getImageId, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(PdfGenerationRequest.SelectedImage::getStageId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final char FIELD_SEPARATOR = '\u001f';
+    private static final char RECORD_SEPARATOR = '\u001e';
+
+    private PdfRequestFingerprint() {
+    }
+
+    /**
+     * Returns a copy of the request with its images in canonical order, so that the same
+     * selection always renders, and is cached, as the same document.
+     */
+    public static PdfGenerationRequest canonicalize(PdfGenerationRequest request) {
+        List<PdfGenerationRequest.SelectedImage> sortedImages = request.getSelectedImages().stream()
+                .sorted(CANONICAL_ORDER)
+                .toList();
+        return request.toBuilder()
+                .selectedImages(sortedImages)
+                .build();
+    }
+
+    /**
+     * @param request         a request already in canonical order, with its engine resolved
+     * @param catalogVersions catalog version per decoration image id; ids without an entry are
+     *                        fingerprinted as missing
+     */
+    public static String of(PdfGenerationRequest request, Map<Long, String> catalogVersions) {
+        StringBuilder canonical = new StringBuilder(64 + request.getSelectedImages().size() * 160);
+        canonical.append(request.getEventId()).append(FIELD_SEPARATOR)
+                .append(request.getEventName()).append(FIELD_SEPARATOR)
+                .append(request.getEngine()).append(RECORD_SEPARATOR);
+        for (PdfGenerationRequest.SelectedImage image : request.getSelectedImages()) {
+            canonical.append(image.getImageId()).append(FIELD_SEPARATOR)
+                    .append(Objects.requireNonNullElse(catalogVersions.get(image.getImageId()), "missing")).append(FIELD_SEPARATOR)
+                    .append(image.getStageId()).append(FIELD_SEPARATOR)
+                    .append(image.getStageName()).append(FIELD_SEPARATOR)
+                    .append(image.getImageName()).append(FIELD_SEPARATOR)
+                    .append(image.getImageUrl()).append(FIELD_SEPARATOR)
+                    .append(image.getDescription()).append(RECORD_SEPARATOR);
+        }
+        return HexFormat.of().formatHex(sha256(canonical.toString()));
+    }
+
+    /**
+     * Key of a single decoration as drawn in a brochure, independent of the rest of the request.
+     */
+    public static String ofFragment(PdfGenerationRequest.SelectedImage image) {
+        String canonical = String.valueOf(image.getImageId()) + FIELD_SEPARATOR
+                + image.getStageName() + FIELD_SEPARATOR
+                + image.getImageName() + FIELD_SEPARATOR
+                + image.getImageUrl() + FIELD_SEPARATOR
+                + image.getDescription();
+        return HexFormat.of().formatHex(sha256(canonical));
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps large brochures off the heap while they are rendered and written out.
+ * <p>
+ * An {@link Output} buffers in memory up to {@code app.pdf.spool.threshold}, then moves to a
+ * temp file in {@code app.pdf.spool.directory}. The file is deleted when its content is
+ * closed; files whose content was never closed are swept after
+ * {@code app.pdf.spool.abandoned-after}.
+ * <p>
+ * Disk space is reserved against {@code app.pdf.spool.max-disk-size} as a document is
+ * written, so files still being rendered count towards the cap. A document that finds no room
+ * stays in memory, and one whose file would grow past the cap is moved back into memory.
+ */
+@Component
+@Slf4j
+public class PdfSpool {
+
+    private static final String FILE_SUFFIX = ".pdf";
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final long thresholdBytes;
+    private final long maxDiskBytes;
+    private final Duration abandonedAfter;
+    private final Path directory;
+
+    private final Map<Path, SpoolFile> liveFiles = new ConcurrentHashMap<>();
+    private final AtomicLong diskBytes = new AtomicLong();
+    private volatile long lastSweep = System.nanoTime();
+
+    public PdfSpool(PdfProperties properties) {
+        PdfProperties.Spool settings = properties.getSpool();
+        this.thresholdBytes = settings.getThreshold().toBytes();
+        this.maxDiskBytes = settings.getMaxDiskSize().toBytes();
+        this.abandonedAfter = settings.getAbandonedAfter();
+        this.directory = StringUtils.hasText(settings.getDirectory())
+                ? prepareDirectory(Paths.get(settings.getDirectory()))
+                : null;
+    }
+
+    public Output newOutput() {
+        sweepAbandoned();
+        return new Output();
+    }
+
+    /**
+     * Bytes reserved on disk, including those of files still being written.
+     */
+    public long getDiskBytes() {
+        return diskBytes.get();
+    }
+
+    public int getFileCount() {
+        return liveFiles.size();
+    }
+
+    private boolean reserve(long bytes) {
+        long current;
+        do {
+            current = diskBytes.get();
+            if (current + bytes > maxDiskBytes) {
+                return false;
+            }
+        } while (!diskBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    private void release(Path file) {
+        SpoolFile spoolFile = liveFiles.remove(file);
+        if (spoolFile != null) {
+            diskBytes.addAndGet(-spoolFile.size());
+        }
+        deleteQuietly(file);
+    }
+
+    private void sweepAbandoned() {
+        long now = System.nanoTime();
+        if (now - lastSweep < abandonedAfter.toNanos() / 4) {
+            return;
+        }
+        lastSweep = now;
+        liveFiles.forEach((file, spoolFile) -> {
+            if (now - spoolFile.createdAt() > abandonedAfter.toNanos()) {
+                log.warn("Deleting abandoned PDF spool file {} ({} bytes)", file, spoolFile.size());
+                release(file);
+            }
+        });
+    }
+
+    /**
+     * Render target that switches from memory to a spool file once the document outgrows the
+     * threshold. Write the document, {@link #close()} it, then take its {@link #toContent()}.
+     */
+    public final class Output extends OutputStream {
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream(8192);
+        private Path file;
+        private OutputStream fileStream;
+        private long size;
+        private long reserved;
+        private boolean spillDeclined;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("PDF spool output is closed");
+            }
+            if (file == null && !spillDeclined && size + length > thresholdBytes) {
+                spill(size + length);
+            } else if (file != null && !reserveUpTo(size + length)) {
+                unspill();
+            }
+            if (file != null) {
+                fileStream.write(bytes, offset, length);
+            } else {
+                memory.write(bytes, offset, length);
+            }
+            size += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (fileStream != null) {
+                try {
+                    fileStream.close();
+                } catch (IOException e) {
+                    dropFile();
+                    throw e;
+                }
+                diskBytes.addAndGet(size - reserved);
+                reserved = size;
+                liveFiles.put(file, new SpoolFile(System.nanoTime(), size));
+            }
+        }
+
+        public boolean isSpooled() {
+            return file != null;
+        }
+
+        public PdfContent toContent() throws IOException {
+            if (!closed) {
+                throw new IllegalStateException("PDF spool output must be closed before reading it");
+            }
+            if (file == null) {
+                return PdfContent.of(memory.toByteArray());
+            }
+            Path spooled = file;
+            try {
+                return FilePdfContent.open(spooled, () -> release(spooled));
+            } catch (IOException e) {
+                release(spooled);
+                throw e;
+            }
+        }
+
+        /**
+         * Drops whatever was written, e.g. after a failed render.
+         */
+        public void discard() {
+            try {
+                close();
+            } catch (IOException e) {
+                log.debug("Failed to close discarded PDF spool output: {}", e.getMessage());
+            }
+            memory = null;
+            if (file != null) {
+                release(file);
+            }
+        }
+
+        private void spill(long bytes) throws IOException {
+            if (directory == null || !reserveUpTo(bytes)) {
+                spillDeclined = true;
+                if (directory != null) {
+                    log.warn("PDF spool is full ({} bytes), keeping document in memory", diskBytes.get());
+                }
+                return;
+            }
+            try {
+                file = Files.createTempFile(directory, "pdf-", FILE_SUFFIX);
+                fileStream = new BufferedOutputStream(Files.newOutputStream(file), FILE_BUFFER_SIZE);
+                memory.writeTo(fileStream);
+            } catch (IOException e) {
+                dropFile();
+                throw e;
+            }
+            memory = null;
+        }
+
+        /**
+         * Moves a document whose file can grow no further within the cap back onto the heap.
+         */
+        private void unspill() throws IOException {
+            log.warn("PDF spool is full ({} bytes), moving a {} byte document back into memory", diskBytes.get(), size);
+            fileStream.close();
+            ByteArrayOutputStream inMemory = new ByteArrayOutputStream((int) Math.min(size + thresholdBytes, Integer.MAX_VALUE - 8));
+            Files.copy(file, inMemory);
+            dropFile();
+            memory = inMemory;
+            spillDeclined = true;
+        }
+
+        /**
+         * Grows the reservation to cover {@code bytes}, a threshold's worth at a time where the
+         * cap allows, so that most writes do not touch the shared counter.
+         */
+        private boolean reserveUpTo(long bytes) {
+            long missing = bytes - reserved;
+            if (missing <= 0) {
+                return true;
+            }
+            long chunk = Math.max(missing, thresholdBytes);
+            if (reserve(chunk)) {
+                reserved += chunk;
+                return true;
+            }
+            if (chunk > missing && reserve(missing)) {
+                reserved += missing;
+                return true;
+            }
+            return false;
+        }
+
+        private void dropFile() {
+            if (fileStream != null) {
+                try {
+                    fileStream.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close PDF spool file {}: {}", file, e.getMessage());
+                }
+            }
+            if (file != null) {
+                deleteQuietly(file);
+            }
+            diskBytes.addAndGet(-reserved);
+            reserved = 0;
+            file = null;
+            fileStream = null;
+        }
+    }
+
+    private record SpoolFile(long createdAt, long size) {
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete PDF spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Spool files never outlive the process that wrote them, so any found at startup are
+     * leftovers from a crash.
+     */
+    private static Path prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> staleFiles = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+                staleFiles.forEach(PdfSpool::deleteQuietly);
+            }
+            return directory;
+        } catch (IOException e) {
+            log.warn("PDF spooling disabled, directory {} is not usable: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
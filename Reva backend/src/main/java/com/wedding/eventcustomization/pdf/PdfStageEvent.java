@@ -0,0 +1,34 @@
+package com.wedding.eventcustomization.pdf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder view of one {@link PdfStageMetrics.Stage} of a render. The event spans the
+ * whole stage; {@code selfTime} leaves out the resource fetches nested inside it.
+ */
+@Name("com.wedding.pdf.Stage")
+@Label("PDF Stage")
+@Category({"Wedding", "PDF"})
+@Description("One stage of generating a brochure PDF")
+@StackTrace(false)
+class PdfStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Images")
+    int imageCount;
+
+    @Label("Self Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long selfTime;
+}
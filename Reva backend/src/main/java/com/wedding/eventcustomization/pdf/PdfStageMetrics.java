@@ -0,0 +1,134 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.styledxmlparser.resolver.resource.IResourceRetriever;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of a render goes: building the HTML, fetching images, laying out, writing the
+ * PDF and encoding it as base64.
+ * <p>
+ * Each stage is recorded as a {@code pdf.stage.duration} timer tagged with the stage, the
+ * engine and a bucket of the request's image count, and as a {@link PdfStageEvent} for Flight
+ * Recorder. Layout in html2pdf fetches images as it goes, so the layout timer records the
+ * stage minus those fetches, which are timed on their own.
+ */
+@Component
+public class PdfStageMetrics {
+
+    public enum Stage {
+        BUILD_HTML, FETCH_RESOURCES, LAYOUT, WRITE, ENCODE_BASE64;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final int[] IMAGE_BUCKET_BOUNDS = {10, 30, 60, 120};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public PdfStageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts recording the stages of one render on the calling thread.
+     */
+    public Trace trace(PdfRenderEngine engine, int imageCount) {
+        return new Trace(engine.name().toLowerCase(Locale.ROOT), imageCount);
+    }
+
+    static String imageBucket(int imageCount) {
+        int lower = 1;
+        for (int bound : IMAGE_BUCKET_BOUNDS) {
+            if (imageCount <= bound) {
+                return lower + "-" + bound;
+            }
+            lower = bound + 1;
+        }
+        return lower + "+";
+    }
+
+    private Timer timer(Stage stage, String engine, String bucket) {
+        return timers.computeIfAbsent(stage.tag() + '|' + engine + '|' + bucket, key -> Timer.builder("pdf.stage.duration")
+                .description("Time spent in one stage of generating a brochure PDF")
+                .tag("stage", stage.tag())
+                .tag("engine", engine)
+                .tag("images", bucket)
+                .register(meterRegistry));
+    }
+
+    /**
+     * The stages of one render. Not thread-safe: a trace belongs to the thread rendering.
+     */
+    public final class Trace {
+
+        private final String engine;
+        private final int imageCount;
+        private final String bucket;
+        private long fetchNanos;
+
+        private Trace(String engine, int imageCount) {
+            this.engine = engine;
+            this.imageCount = imageCount;
+            this.bucket = imageBucket(imageCount);
+        }
+
+        public <T> T time(Stage stage, PdfRenderBulkhead.RenderTask<T> task) throws IOException {
+            PdfStageEvent event = new PdfStageEvent();
+            event.begin();
+            long fetchesBefore = fetchNanos;
+            long start = System.nanoTime();
+            try {
+                return task.render();
+            } finally {
+                long selfTime = System.nanoTime() - start - (fetchNanos - fetchesBefore);
+                record(stage, selfTime, event);
+            }
+        }
+
+        /**
+         * Wraps html2pdf's resource retriever so every fetch is timed as
+         * {@link Stage#FETCH_RESOURCES} and left out of the stage it happens in.
+         */
+        public IResourceRetriever timeFetches(IResourceRetriever retriever) {
+            return new IResourceRetriever() {
+                @Override
+                public InputStream getInputStreamByUrl(URL url) throws IOException {
+                    return time(Stage.FETCH_RESOURCES, () -> retriever.getInputStreamByUrl(url));
+                }
+
+                @Override
+                public byte[] getByteArrayByUrl(URL url) throws IOException {
+                    return time(Stage.FETCH_RESOURCES, () -> retriever.getByteArrayByUrl(url));
+                }
+            };
+        }
+
+        private void record(Stage stage, long selfTime, PdfStageEvent event) {
+            if (stage == Stage.FETCH_RESOURCES) {
+                fetchNanos += selfTime;
+            }
+            timer(stage, engine, bucket).record(selfTime, TimeUnit.NANOSECONDS);
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage.tag();
+                event.engine = engine;
+                event.imageCount = imageCount;
+                event.selfTime = selfTime;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.wedding.eventcustomization.pdf;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A generated brochure together with the content fingerprint it is cached under. Closing it
+ * releases the content, deleting a spooled file. A degraded brochure shows placeholders for
+ * images that could not be fetched and is not cached.
+ */
+public record RenderedPdf(String fingerprint, PdfContent content, boolean fromCache, boolean degraded) implements Closeable {
+    
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+    
+    public String etag() {
+        return etagOf(fingerprint);
+    }
+    
+    public static String etagOf(String fingerprint) {
+        return "\"" + fingerprint + "\"";
+    }
+}
@@ -0,0 +1,202 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfOutline;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.ReaderProperties;
+import com.itextpdf.kernel.pdf.navigation.PdfExplicitDestination;
+import com.itextpdf.kernel.utils.PdfMerger;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Renders very large selections as independent sections in parallel.
+ * <p>
+ * A selection of at least {@code app.pdf.sections.threshold} images is split per decoration
+ * type, and types with more than {@code app.pdf.sections.max-images-per-section} images are
+ * split further. The sections render concurrently on the {@link PdfRenderPool}, the calling
+ * thread taking the first one, and are merged in order with one bookmark per decoration type.
+ * Each section starts on a new page.
+ * <p>
+ * The caller holds one {@link PdfRenderBulkhead} slot for the whole document. A section only
+ * runs on the pool if it finds another slot free; otherwise the caller renders it in its own
+ * slot, so a sectioned document never runs more conversions than there are slots. Sections are
+ * written through the {@link PdfSpool} and merged from there rather than held on the heap.
+ */
+@Component
+@Slf4j
+public class SectionedPdfRenderer {
+
+    private final PdfRenderPool renderPool;
+    private final PdfRenderBulkhead renderBulkhead;
+    private final PdfSpool pdfSpool;
+    private final PdfRenderingResources renderingResources;
+    private final int threshold;
+    private final int maxImagesPerSection;
+
+    public SectionedPdfRenderer(PdfRenderPool renderPool, PdfRenderBulkhead renderBulkhead, PdfSpool pdfSpool,
+                                PdfRenderingResources renderingResources, PdfProperties properties) {
+        this.renderPool = renderPool;
+        this.renderBulkhead = renderBulkhead;
+        this.pdfSpool = pdfSpool;
+        this.renderingResources = renderingResources;
+        this.threshold = properties.getSections().getThreshold();
+        this.maxImagesPerSection = Math.max(1, properties.getSections().getMaxImagesPerSection());
+    }
+
+    public boolean applies(PdfGenerationRequest request) {
+        return threshold > 0 && request.getSelectedImages().size() >= threshold;
+    }
+
+    /**
+     * Must be called while holding a {@link PdfRenderBulkhead} slot, which renders every
+     * section that finds no other slot free.
+     */
+    public void render(PdfRenderer renderer, PdfGenerationRequest request, LocalDateTime generatedAt,
+                       OutputStream outputStream) throws IOException {
+        List<BrochureSection> sections = sections(request);
+        log.debug("Rendering {} images for event: {} as {} sections",
+                request.getSelectedImages().size(), request.getEventName(), sections.size());
+
+        List<CompletableFuture<Optional<PdfContent>>> rendered = new ArrayList<>(sections.size());
+        List<PdfContent> parts = new ArrayList<>(sections.size());
+        try {
+            // A pool thread waiting on sections queued behind it could starve the pool
+            boolean parallel = !renderPool.isPoolThread();
+            for (int i = 1; i < sections.size(); i++) {
+                BrochureSection section = sections.get(i);
+                rendered.add(parallel
+                        ? submitOrRunInline(() -> renderBulkhead.tryExecute(() -> renderSection(renderer, request, section, generatedAt)))
+                        : null);
+            }
+            parts.add(renderSection(renderer, request, sections.get(0), generatedAt));
+
+            for (int i = 1; i < sections.size(); i++) {
+                CompletableFuture<Optional<PdfContent>> future = rendered.get(i - 1);
+                PdfContent part = future != null ? join(future).orElse(null) : null;
+                parts.add(part != null ? part : renderSection(renderer, request, sections.get(i), generatedAt));
+            }
+            merge(request, sections, parts, outputStream);
+        } finally {
+            rendered.forEach(future -> {
+                if (future != null && !future.cancel(true) && !future.isCompletedExceptionally()) {
+                    future.join().ifPresent(SectionedPdfRenderer::closeQuietly);
+                }
+            });
+            parts.forEach(SectionedPdfRenderer::closeQuietly);
+        }
+    }
+
+    /**
+     * Groups the images by decoration type in order of first appearance, then cuts each group
+     * into sections of at most {@code maxImagesPerSection} images.
+     */
+    List<BrochureSection> sections(PdfGenerationRequest request) {
+        Map<Object, List<PdfGenerationRequest.SelectedImage>> byStage = new LinkedHashMap<>();
+        for (PdfGenerationRequest.SelectedImage image : request.getSelectedImages()) {
+            byStage.computeIfAbsent(stageKey(image), key -> new ArrayList<>()).add(image);
+        }
+
+        List<BrochureSection> sections = new ArrayList<>();
+        for (List<PdfGenerationRequest.SelectedImage> images : byStage.values()) {
+            String stageName = images.get(0).getStageName();
+            String title = stageName != null && !stageName.isBlank() ? stageName : BrochureSection.DEFAULT_TITLE;
+            for (int start = 0; start < images.size(); start += maxImagesPerSection) {
+                List<PdfGenerationRequest.SelectedImage> chunk = images.subList(start, Math.min(start + maxImagesPerSection, images.size()));
+                sections.add(new BrochureSection(start == 0 ? title : title + " (continued)", chunk, false, false));
+            }
+        }
+        int last = sections.size() - 1;
+        for (int i = 0; i < sections.size(); i++) {
+            BrochureSection section = sections.get(i);
+            sections.set(i, new BrochureSection(section.title(), section.images(), i == 0, i == last));
+        }
+        return sections;
+    }
+
+    private PdfContent renderSection(PdfRenderer renderer, PdfGenerationRequest request, BrochureSection section,
+                                     LocalDateTime generatedAt) throws IOException {
+        PdfSpool.Output output = pdfSpool.newOutput();
+        try {
+            renderer.render(request, section, generatedAt, output);
+            output.close();
+            return output.toContent();
+        } catch (IOException | RuntimeException e) {
+            output.discard();
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Optional<PdfContent>> submitOrRunInline(PdfRenderBulkhead.RenderTask<Optional<PdfContent>> task) {
+        try {
+            return renderPool.submit(task);
+        } catch (ServiceOverloadedException e) {
+            // The caller already holds a rendering slot; a busy pool only costs parallelism
+            return null;
+        }
+    }
+
+    private void merge(PdfGenerationRequest request, List<BrochureSection> sections, List<PdfContent> parts,
+                       OutputStream outputStream) throws IOException {
+        try (PdfDocument merged = new PdfDocument(renderingResources.newWriter(outputStream))) {
+            merged.getDocumentInfo().setTitle("Wedding Customization - " + request.getEventName());
+            PdfMerger merger = new PdfMerger(merged, false, false);
+            PdfOutline outlines = merged.getOutlines(false);
+            for (int i = 0; i < parts.size(); i++) {
+                int firstPage = merged.getNumberOfPages() + 1;
+                try (PdfDocument part = new PdfDocument(new PdfReader(parts.get(i).newRandomAccessSource(), new ReaderProperties()))) {
+                    merger.merge(part, 1, part.getNumberOfPages());
+                }
+                if (i == 0 || !stageKey(sections.get(i).images().get(0)).equals(stageKey(sections.get(i - 1).images().get(0)))) {
+                    outlines.addOutline(sections.get(i).title())
+                            .addDestination(PdfExplicitDestination.createFit(merged.getPage(firstPage)));
+                }
+            }
+            merged.getCatalog().setPageMode(PdfName.UseOutlines);
+        }
+    }
+
+    private static Object stageKey(PdfGenerationRequest.SelectedImage image) {
+        return image.getStageId() != null ? image.getStageId() : String.valueOf(image.getStageName());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("PDF section render failed", cause);
+        }
+    }
+
+    private static void closeQuietly(PdfContent part) {
+        try {
+            part.close();
+        } catch (IOException e) {
+            log.debug("Failed to release PDF section: {}", e.getMessage());
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.wedding.eventcustomization.repository;
 
 import com.wedding.eventcustomization.entity.DecorationImage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,4 +20,10 @@ public interface DecorationImageRepository extends JpaRepository<DecorationImage
     List<DecorationImage> findByIsActiveTrue();
     
     List<DecorationImage> findByDecorationTypeIdAndIsActiveTrue(Long decorationTypeId);
+    
+    @Query("SELECT d FROM DecorationImage d JOIN FETCH d.decorationType t JOIN FETCH t.event WHERE d.id IN :ids")
+    List<DecorationImage> findWithTypeAndEventByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT d.id FROM DecorationImage d WHERE d.isActive = true ORDER BY d.id")
+    List<Long> findActiveIds(Pageable pageable);
 }
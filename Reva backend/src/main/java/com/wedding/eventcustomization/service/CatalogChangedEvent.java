@@ -0,0 +1,22 @@
+package com.wedding.eventcustomization.service;
+
+/**
+ * Published after an event, decoration type or decoration image is created, updated or deleted.
+ * {@code decorationImageId} is {@code null} when the change is to the decoration type itself, and
+ * {@code decorationTypeId} is also {@code null} when it is to the event. A decoration type or
+ * image moved to another event is published once for its old event and once for its new one.
+ */
+public record CatalogChangedEvent(Long eventId, Long decorationTypeId, Long decorationImageId) {
+    
+    public static CatalogChangedEvent forEvent(Long eventId) {
+        return new CatalogChangedEvent(eventId, null, null);
+    }
+    
+    public static CatalogChangedEvent forDecorationType(Long eventId, Long decorationTypeId) {
+        return new CatalogChangedEvent(eventId, decorationTypeId, null);
+    }
+    
+    public static CatalogChangedEvent forDecorationImage(Long eventId, Long decorationTypeId, Long decorationImageId) {
+        return new CatalogChangedEvent(eventId, decorationTypeId, decorationImageId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.wedding.eventcustomization.service;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.DecorationType;
+import com.wedding.eventcustomization.repository.DecorationImageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-through LRU cache of decoration images joined with their decoration type and event,
+ * used to resolve and version PDF selections without a query per image.
+ * <p>
+ * Misses are loaded in one batched query. Entries are dropped on {@link CatalogChangedEvent},
+ * ahead of the other listeners so that anything they recompute already sees the new catalog.
+ */
+@Service
+@Slf4j
+public class DecorationImageCatalog {
+
+    public record CatalogImage(Long id, String name, String imageUrl, String description, boolean active,
+                               Long decorationTypeId, String decorationTypeName, Long eventId, String eventName,
+                               String version) {
+    }
+
+    private static final int PRELOAD_BATCH_SIZE = 1_000;
+
+    private final DecorationImageRepository decorationImageRepository;
+    private final int maxEntries;
+    private final LinkedHashMap<Long, CatalogImage> entries;
+    private long generation;
+
+    public DecorationImageCatalog(DecorationImageRepository decorationImageRepository, PdfProperties pdfProperties) {
+        this.decorationImageRepository = decorationImageRepository;
+        this.maxEntries = pdfProperties.getCatalogCacheEntries();
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CatalogImage> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the catalog entries for the given ids; ids that do not exist are left out.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CatalogImage> getAll(Collection<Long> imageIds) {
+        Map<Long, CatalogImage> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Long imageId : imageIds) {
+                CatalogImage image = entries.get(imageId);
+                if (image != null) {
+                    found.put(imageId, image);
+                } else if (imageId != null) {
+                    missing.add(imageId);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        List<CatalogImage> loaded = decorationImageRepository.findWithTypeAndEventByIdIn(missing).stream()
+                .map(DecorationImageCatalog::toCatalogImage)
+                .toList();
+        log.debug("Loaded {} of {} uncached decoration images", loaded.size(), missing.size());
+        synchronized (this) {
+            // A change committed while loading may not be visible in what was read
+            boolean current = loadGeneration == generation;
+            for (CatalogImage image : loaded) {
+                found.put(image.id(), image);
+                if (current) {
+                    entries.put(image.id(), image);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Fills the cache with active images, up to its capacity, so the first PDF requests after
+     * startup find their selection cached. Returns the number of images loaded.
+     */
+    @Transactional(readOnly = true)
+    public int preload() {
+        List<Long> imageIds = decorationImageRepository.findActiveIds(PageRequest.of(0, maxEntries));
+        int loaded = 0;
+        for (int from = 0; from < imageIds.size(); from += PRELOAD_BATCH_SIZE) {
+            loaded += getAll(imageIds.subList(from, Math.min(from + PRELOAD_BATCH_SIZE, imageIds.size()))).size();
+        }
+        return loaded;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        generation++;
+        if (event.decorationImageId() != null) {
+            entries.remove(event.decorationImageId());
+        } else if (event.decorationTypeId() != null) {
+            entries.values().removeIf(image -> event.decorationTypeId().equals(image.decorationTypeId()));
+        } else {
+            entries.values().removeIf(image -> event.eventId().equals(image.eventId()));
+        }
+    }
+
+    private static CatalogImage toCatalogImage(DecorationImage image) {
+        DecorationType type = image.getDecorationType();
+        return new CatalogImage(
+                image.getId(),
+                image.getName(),
+                image.getImageUrl(),
+                image.getDescription(),
+                Boolean.TRUE.equals(image.getIsActive()) && Boolean.TRUE.equals(type.getIsActive())
+                        && Boolean.TRUE.equals(type.getEvent().getIsActive()),
+                type.getId(),
+                type.getName(),
+                type.getEvent().getId(),
+                type.getEvent().getName(),
+                String.valueOf(image.getUpdatedAt()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.wedding.eventcustomization.service;
 
+import com.wedding.eventcustomization.config.MetricsConfig;
 import com.wedding.eventcustomization.dto.DecorationImageDto;
 import com.wedding.eventcustomization.entity.DecorationImage;
 import com.wedding.eventcustomization.entity.DecorationType;
@@ -7,14 +8,17 @@ import com.wedding.eventcustomization.exception.ResourceNotFoundException;
 import com.wedding.eventcustomization.mapper.DecorationImageMapper;
 import com.wedding.eventcustomization.repository.DecorationImageRepository;
 import com.wedding.eventcustomization.repository.DecorationTypeRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
@@ -22,28 +26,29 @@ public class DecorationImageService {
     
     private final DecorationImageRepository decorationImageRepository;
     private final DecorationTypeRepository decorationTypeRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<DecorationImageDto> getAllDecorationImages() {
-        log.info("Fetching all decoration images");
+        log.debug("Fetching all decoration images");
         List<DecorationImage> decorationImages = decorationImageRepository.findByIsActiveTrue();
         return DecorationImageMapper.toDtoList(decorationImages);
     }
     
     public List<DecorationImageDto> getDecorationImagesByDecorationTypeId(Long decorationTypeId) {
-        log.info("Fetching decoration images for decoration type ID: {}", decorationTypeId);
+        log.debug("Fetching decoration images for decoration type ID: {}", decorationTypeId);
         List<DecorationImage> decorationImages = decorationImageRepository.findByDecorationTypeIdAndIsActiveTrue(decorationTypeId);
         return DecorationImageMapper.toDtoList(decorationImages);
     }
     
     public DecorationImageDto getDecorationImageById(Long id) {
-        log.info("Fetching decoration image with ID: {}", id);
+        log.debug("Fetching decoration image with ID: {}", id);
         DecorationImage decorationImage = decorationImageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationImage not found with id: " + id));
         return DecorationImageMapper.toDto(decorationImage);
     }
     
     public DecorationImageDto createDecorationImage(DecorationImageDto decorationImageDto) {
-        log.info("Creating decoration image: {}", decorationImageDto.getName());
+        log.debug("Creating decoration image: {}", decorationImageDto.getName());
         
         DecorationType decorationType = decorationTypeRepository.findById(decorationImageDto.getDecorationTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationType not found with id: " + decorationImageDto.getDecorationTypeId()));
@@ -59,15 +64,18 @@ public class DecorationImageService {
         
         DecorationImage savedDecorationImage = decorationImageRepository.save(decorationImage);
         log.info("Created decoration image with ID: {}", savedDecorationImage.getId());
+        publishChange(savedDecorationImage);
         
         return DecorationImageMapper.toDto(savedDecorationImage);
     }
     
     public DecorationImageDto updateDecorationImage(Long id, DecorationImageDto decorationImageDto) {
-        log.info("Updating decoration image with ID: {}", id);
+        log.debug("Updating decoration image with ID: {}", id);
         
         DecorationImage existingDecorationImage = decorationImageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationImage not found with id: " + id));
+        DecorationType previousDecorationType = existingDecorationImage.getDecorationType();
+        Long previousEventId = previousDecorationType.getEvent().getId();
         
         if (decorationImageDto.getDecorationTypeId() != null) {
             DecorationType decorationType = decorationTypeRepository.findById(decorationImageDto.getDecorationTypeId())
@@ -93,19 +101,31 @@ public class DecorationImageService {
         
         DecorationImage updatedDecorationImage = decorationImageRepository.save(existingDecorationImage);
         log.info("Updated decoration image with ID: {}", updatedDecorationImage.getId());
+        publishChange(updatedDecorationImage);
+        if (!previousEventId.equals(updatedDecorationImage.getDecorationType().getEvent().getId())) {
+            eventPublisher.publishEvent(CatalogChangedEvent.forDecorationImage(
+                    previousEventId, previousDecorationType.getId(), updatedDecorationImage.getId()));
+        }
         
         return DecorationImageMapper.toDto(updatedDecorationImage);
     }
     
     public void deleteDecorationImage(Long id) {
-        log.info("Deleting decoration image with ID: {}", id);
+        log.debug("Deleting decoration image with ID: {}", id);
         
         DecorationImage decorationImage = decorationImageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationImage not found with id: " + id));
         
         decorationImage.setIsActive(false);
         decorationImageRepository.save(decorationImage);
+        publishChange(decorationImage);
         
         log.info("Soft deleted decoration image with ID: {}", id);
     }
+    
+    private void publishChange(DecorationImage decorationImage) {
+        DecorationType decorationType = decorationImage.getDecorationType();
+        eventPublisher.publishEvent(CatalogChangedEvent.forDecorationImage(
+                decorationType.getEvent().getId(), decorationType.getId(), decorationImage.getId()));
+    }
 }
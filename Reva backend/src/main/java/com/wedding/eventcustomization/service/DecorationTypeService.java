@@ -1,5 +1,6 @@
 package com.wedding.eventcustomization.service;
 
+import com.wedding.eventcustomization.config.MetricsConfig;
 import com.wedding.eventcustomization.dto.DecorationTypeDto;
 import com.wedding.eventcustomization.entity.DecorationType;
 import com.wedding.eventcustomization.entity.Event;
@@ -7,14 +8,17 @@ import com.wedding.eventcustomization.exception.ResourceNotFoundException;
 import com.wedding.eventcustomization.mapper.DecorationTypeMapper;
 import com.wedding.eventcustomization.repository.DecorationTypeRepository;
 import com.wedding.eventcustomization.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
@@ -22,28 +26,29 @@ public class DecorationTypeService {
     
     private final DecorationTypeRepository decorationTypeRepository;
     private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<DecorationTypeDto> getAllDecorationTypes() {
-        log.info("Fetching all decoration types");
+        log.debug("Fetching all decoration types");
         List<DecorationType> decorationTypes = decorationTypeRepository.findByIsActiveTrue();
         return DecorationTypeMapper.toDtoList(decorationTypes);
     }
     
     public List<DecorationTypeDto> getDecorationTypesByEventId(Long eventId) {
-        log.info("Fetching decoration types for event ID: {}", eventId);
+        log.debug("Fetching decoration types for event ID: {}", eventId);
         List<DecorationType> decorationTypes = decorationTypeRepository.findByEventIdAndIsActiveTrue(eventId);
         return DecorationTypeMapper.toDtoList(decorationTypes);
     }
     
     public DecorationTypeDto getDecorationTypeById(Long id) {
-        log.info("Fetching decoration type with ID: {}", id);
+        log.debug("Fetching decoration type with ID: {}", id);
         DecorationType decorationType = decorationTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationType not found with id: " + id));
         return DecorationTypeMapper.toDto(decorationType);
     }
     
     public DecorationTypeDto createDecorationType(DecorationTypeDto decorationTypeDto) {
-        log.info("Creating decoration type: {}", decorationTypeDto.getName());
+        log.debug("Creating decoration type: {}", decorationTypeDto.getName());
         
         Event event = eventRepository.findById(decorationTypeDto.getEventId())
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + decorationTypeDto.getEventId()));
@@ -58,15 +63,17 @@ public class DecorationTypeService {
         
         DecorationType savedDecorationType = decorationTypeRepository.save(decorationType);
         log.info("Created decoration type with ID: {}", savedDecorationType.getId());
+        publishChange(savedDecorationType);
         
         return DecorationTypeMapper.toDto(savedDecorationType);
     }
     
     public DecorationTypeDto updateDecorationType(Long id, DecorationTypeDto decorationTypeDto) {
-        log.info("Updating decoration type with ID: {}", id);
+        log.debug("Updating decoration type with ID: {}", id);
         
         DecorationType existingDecorationType = decorationTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationType not found with id: " + id));
+        Long previousEventId = existingDecorationType.getEvent().getId();
         
         if (decorationTypeDto.getEventId() != null) {
             Event event = eventRepository.findById(decorationTypeDto.getEventId())
@@ -89,19 +96,29 @@ public class DecorationTypeService {
         
         DecorationType updatedDecorationType = decorationTypeRepository.save(existingDecorationType);
         log.info("Updated decoration type with ID: {}", updatedDecorationType.getId());
+        publishChange(updatedDecorationType);
+        if (!previousEventId.equals(updatedDecorationType.getEvent().getId())) {
+            eventPublisher.publishEvent(CatalogChangedEvent.forDecorationType(previousEventId, updatedDecorationType.getId()));
+        }
         
         return DecorationTypeMapper.toDto(updatedDecorationType);
     }
     
     public void deleteDecorationType(Long id) {
-        log.info("Deleting decoration type with ID: {}", id);
+        log.debug("Deleting decoration type with ID: {}", id);
         
         DecorationType decorationType = decorationTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("DecorationType not found with id: " + id));
         
         decorationType.setIsActive(false);
         decorationTypeRepository.save(decorationType);
+        publishChange(decorationType);
         
         log.info("Soft deleted decoration type with ID: {}", id);
     }
+    
+    private void publishChange(DecorationType decorationType) {
+        eventPublisher.publishEvent(CatalogChangedEvent.forDecorationType(
+                decorationType.getEvent().getId(), decorationType.getId()));
+    }
 }
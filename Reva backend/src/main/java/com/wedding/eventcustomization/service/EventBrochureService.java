@@ -0,0 +1,252 @@
+package com.wedding.eventcustomization.service;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.DecorationImageDto;
+import com.wedding.eventcustomization.dto.DecorationTypeDto;
+import com.wedding.eventcustomization.dto.EventDto;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.exception.ResourceNotFoundException;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a ready-made brochure of each active event's full catalog on disk, served as a static
+ * file from {@code /brochures/event-{id}.pdf}.
+ * <p>
+ * Every brochure is rendered once the application is ready, and an event's brochure again
+ * {@code app.pdf.brochures.debounce} after the last change to the event or its decoration
+ * types and images, so a burst of edits costs a single render. Moving a decoration type or
+ * image to another event re-renders the brochures of both. Renders run on one background
+ * thread through the same bulkhead as requests; when rendering is saturated the brochure is
+ * retried after the bulkhead's retry-after, and when image hosts were unreachable once their
+ * circuit breakers may have closed again.
+ */
+@Service
+@Slf4j
+public class EventBrochureService {
+
+    public static final String URL_PATH = "/brochures/";
+
+    private static final String FILE_PREFIX = "event-";
+    private static final String FILE_SUFFIX = ".pdf";
+    private static final String PART_SUFFIX = ".part";
+
+    private final EventService eventService;
+    private final DecorationTypeService decorationTypeService;
+    private final DecorationImageService decorationImageService;
+    private final PdfGenerationService pdfGenerationService;
+    private final Duration debounce;
+    private final Duration degradedRetry;
+    private final Path directory;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    public EventBrochureService(EventService eventService, DecorationTypeService decorationTypeService,
+                                DecorationImageService decorationImageService, PdfGenerationService pdfGenerationService,
+                                PdfProperties properties) {
+        this.eventService = eventService;
+        this.decorationTypeService = decorationTypeService;
+        this.decorationImageService = decorationImageService;
+        this.pdfGenerationService = pdfGenerationService;
+        PdfProperties.Brochures settings = properties.getBrochures();
+        this.debounce = settings.getDebounce();
+        this.degradedRetry = properties.getImages().getOpenDuration();
+        this.directory = settings.isEnabled() && StringUtils.hasText(settings.getDirectory())
+                ? prepareDirectory(Paths.get(settings.getDirectory()))
+                : null;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pdf-brochure");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderAll() {
+        if (directory == null) {
+            return;
+        }
+        List<EventDto> events = eventService.getAllEvents();
+        log.info("Pre-rendering catalog brochures for {} events", events.size());
+        Set<String> current = new HashSet<>();
+        for (EventDto event : events) {
+            current.add(fileName(event.getId()));
+            schedule(event.getId(), Duration.ZERO);
+        }
+        // Brochures of events removed while the application was down
+        try (DirectoryStream<Path> brochures = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path brochure : brochures) {
+                if (!current.contains(brochure.getFileName().toString())) {
+                    Files.deleteIfExists(brochure);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove stale catalog brochures: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (directory != null && event.eventId() != null) {
+            schedule(event.eventId(), debounce);
+        }
+    }
+
+    /**
+     * Path of the brochure file under {@link #URL_PATH}; the file only exists once rendered.
+     */
+    public static String fileName(Long eventId) {
+        return FILE_PREFIX + eventId + FILE_SUFFIX;
+    }
+
+    private void schedule(Long eventId, Duration delay) {
+        pending.compute(eventId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return scheduler.schedule(() -> render(id), delay.toMillis(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    void render(Long eventId) {
+        Path target = directory.resolve(fileName(eventId));
+        try {
+            Optional<PdfGenerationRequest> request = brochureRequest(eventId);
+            if (request.isEmpty()) {
+                if (Files.deleteIfExists(target)) {
+                    log.info("Removed catalog brochure of event {}, it has no active decorations", eventId);
+                }
+                return;
+            }
+
+            long start = System.nanoTime();
+            PdfGenerationRequest brochure = request.get();
+            try (RenderedPdf pdf = renderBrochure(brochure)) {
+                write(pdf, target);
+                log.info("Pre-rendered catalog brochure of event {} with {} images ({} bytes) in {} ms",
+                        eventId, brochure.getSelectedImages().size(), pdf.content().size(),
+                        (System.nanoTime() - start) / 1_000_000);
+                if (pdf.degraded()) {
+                    log.info("Brochure of event {} has placeholder images, rendering it again in {}", eventId, degradedRetry);
+                    schedule(eventId, degradedRetry);
+                }
+            }
+        } catch (ServiceOverloadedException e) {
+            log.info("PDF rendering is saturated, retrying brochure of event {} in {}", eventId, e.getRetryAfter());
+            schedule(eventId, e.getRetryAfter());
+        } catch (Exception e) {
+            log.error("Failed to pre-render catalog brochure of event {}", eventId, e);
+        }
+    }
+
+    /**
+     * Brochures bypass the document cache: they are served from their own files, and would
+     * only push out the documents of user requests.
+     */
+    RenderedPdf renderBrochure(PdfGenerationRequest brochure) throws IOException {
+        return pdfGenerationService.generateUncached(brochure);
+    }
+
+    /**
+     * Every active image of every active decoration type of the event, in display order, or
+     * nothing when the event is gone or has no images.
+     */
+    Optional<PdfGenerationRequest> brochureRequest(Long eventId) {
+        EventDto event;
+        try {
+            event = eventService.getEventById(eventId);
+        } catch (ResourceNotFoundException e) {
+            return Optional.empty();
+        }
+
+        List<DecorationTypeDto> decorationTypes = new ArrayList<>(decorationTypeService.getDecorationTypesByEventId(eventId));
+        decorationTypes.sort(Comparator.comparing(DecorationTypeDto::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+        List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>();
+        for (DecorationTypeDto decorationType : decorationTypes) {
+            List<DecorationImageDto> decorationImages = new ArrayList<>(
+                    decorationImageService.getDecorationImagesByDecorationTypeId(decorationType.getId()));
+            decorationImages.sort(Comparator.comparing(DecorationImageDto::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())));
+            for (DecorationImageDto image : decorationImages) {
+                images.add(PdfGenerationRequest.SelectedImage.builder()
+                        .stageId(decorationType.getId())
+                        .stageName(decorationType.getName())
+                        .imageId(image.getId())
+                        .imageName(image.getName())
+                        .imageUrl(image.getImageUrl())
+                        .description(image.getDescription())
+                        .build());
+            }
+        }
+        if (images.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(PdfGenerationRequest.builder()
+                .eventId(eventId)
+                .eventName(event.getName())
+                .selectedImages(images)
+                .build());
+    }
+
+    /**
+     * Replaces the brochure atomically, so a download never sees a partly written file.
+     */
+    private void write(RenderedPdf pdf, Path target) throws IOException {
+        Path part = Files.createTempFile(directory, FILE_PREFIX, PART_SUFFIX);
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(part)) {
+                pdf.content().writeTo(outputStream);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private static Path prepareDirectory(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> partFiles = Files.newDirectoryStream(directory, "*" + PART_SUFFIX)) {
+                for (Path partFile : partFiles) {
+                    Files.deleteIfExists(partFile);
+                }
+            }
+            return directory;
+        } catch (IOException e) {
+            log.warn("Catalog brochures disabled, directory {} is not usable: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.wedding.eventcustomization.service;
 
+import com.wedding.eventcustomization.config.MetricsConfig;
 import com.wedding.eventcustomization.dto.EventDto;
 import com.wedding.eventcustomization.entity.Event;
 import com.wedding.eventcustomization.exception.ResourceNotFoundException;
 import com.wedding.eventcustomization.exception.ResourceAlreadyExistsException;
 import com.wedding.eventcustomization.mapper.EventMapper;
 import com.wedding.eventcustomization.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +18,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
@@ -22,29 +26,30 @@ public class EventService {
     
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<EventDto> getAllEvents() {
-        log.info("Fetching all active events");
+        log.debug("Fetching all active events");
         List<Event> events = eventRepository.findByIsActiveTrueOrderByNameAsc();
-        log.info("Found {} active events", events.size());
+        log.debug("Found {} active events", events.size());
         return events.stream()
                 .map(eventMapper::toDto)
                 .collect(Collectors.toList());
     }
     
     public EventDto getEventById(Long id) {
-        log.info("Fetching event with id: {}", id);
+        log.debug("Fetching event with id: {}", id);
         Event event = eventRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
                     log.error("Event not found with id: {}", id);
                     return new ResourceNotFoundException("Event not found with id: " + id);
                 });
-        log.info("Successfully fetched event: {}", event.getName());
+        log.debug("Successfully fetched event: {}", event.getName());
         return eventMapper.toDto(event);
     }
     
     public EventDto createEvent(EventDto eventDto) {
-        log.info("Creating new event: {}", eventDto.getName());
+        log.debug("Creating new event: {}", eventDto.getName());
         
         if (eventRepository.existsByNameIgnoreCaseAndIdNot(eventDto.getName(), 0L)) {
             log.error("Event with name '{}' already exists", eventDto.getName());
@@ -59,7 +64,7 @@ public class EventService {
     }
     
     public EventDto updateEvent(Long id, EventDto eventDto) {
-        log.info("Updating event with id: {}", id);
+        log.debug("Updating event with id: {}", id);
         
         Event existingEvent = eventRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -79,12 +84,13 @@ public class EventService {
         }
         
         Event updatedEvent = eventRepository.save(existingEvent);
+        eventPublisher.publishEvent(CatalogChangedEvent.forEvent(updatedEvent.getId()));
         log.info("Successfully updated event with id: {}", updatedEvent.getId());
         return eventMapper.toDto(updatedEvent);
     }
     
     public void deleteEvent(Long id) {
-        log.info("Soft deleting event with id: {}", id);
+        log.debug("Soft deleting event with id: {}", id);
         
         Event event = eventRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -94,13 +100,14 @@ public class EventService {
         
         event.setIsActive(false);
         eventRepository.save(event);
+        eventPublisher.publishEvent(CatalogChangedEvent.forEvent(id));
         log.info("Successfully soft deleted event with id: {}", id);
     }
     
     public List<EventDto> searchEvents(String name) {
-        log.info("Searching events with name containing: {}", name);
+        log.debug("Searching events with name containing: {}", name);
         List<Event> events = eventRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(name);
-        log.info("Found {} events matching search criteria", events.size());
+        log.debug("Found {} events matching search criteria", events.size());
         return events.stream()
                 .map(eventMapper::toDto)
                 .collect(Collectors.toList());
@@ -27,7 +27,7 @@ public class ImageService {
     private final ImageMapper imageMapper;
     
     public List<ImageDto> getAllImagesByStageId(Long stageId) {
-        log.info("Fetching all active images for stage id: {}", stageId);
+        log.debug("Fetching all active images for stage id: {}", stageId);
         
         // Verify stage exists and is active
         Stage stage = stageRepository.findByIdAndIsActiveTrue(stageId)
@@ -37,25 +37,25 @@ public class ImageService {
                 });
         
         List<Image> images = imageRepository.findByStageIdAndIsActiveTrueOrderByDisplayOrderAsc(stageId);
-        log.info("Found {} active images for stage: {}", images.size(), stage.getName());
+        log.debug("Found {} active images for stage: {}", images.size(), stage.getName());
         return images.stream()
                 .map(imageMapper::toDto)
                 .collect(Collectors.toList());
     }
     
     public ImageDto getImageById(Long id) {
-        log.info("Fetching image with id: {}", id);
+        log.debug("Fetching image with id: {}", id);
         Image image = imageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
                     log.error("Image not found with id: {}", id);
                     return new ResourceNotFoundException("Image not found with id: " + id);
                 });
-        log.info("Successfully fetched image: {}", image.getName());
+        log.debug("Successfully fetched image: {}", image.getName());
         return imageMapper.toDto(image);
     }
     
     public ImageDto createImage(ImageDto imageDto) {
-        log.info("Creating new image: {} for stage id: {}", imageDto.getName(), imageDto.getStageId());
+        log.debug("Creating new image: {} for stage id: {}", imageDto.getName(), imageDto.getStageId());
         
         // Verify stage exists and is active
         Stage stage = stageRepository.findByIdAndIsActiveTrue(imageDto.getStageId())
@@ -81,7 +81,7 @@ public class ImageService {
     }
     
     public ImageDto updateImage(Long id, ImageDto imageDto) {
-        log.info("Updating image with id: {}", id);
+        log.debug("Updating image with id: {}", id);
         
         Image existingImage = imageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -118,7 +118,7 @@ public class ImageService {
     }
     
     public void deleteImage(Long id) {
-        log.info("Soft deleting image with id: {}", id);
+        log.debug("Soft deleting image with id: {}", id);
         
         Image image = imageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -132,7 +132,7 @@ public class ImageService {
     }
     
     public List<ImageDto> searchImagesByStageId(Long stageId, String name) {
-        log.info("Searching images for stage id: {} with name containing: {}", stageId, name);
+        log.debug("Searching images for stage id: {} with name containing: {}", stageId, name);
         
         // Verify stage exists and is active
         Stage stage = stageRepository.findByIdAndIsActiveTrue(stageId)
@@ -142,7 +142,7 @@ public class ImageService {
                 });
         
         List<Image> images = imageRepository.findByStageIdAndNameContainingIgnoreCaseAndIsActiveTrue(stageId, name);
-        log.info("Found {} images matching search criteria for stage: {}", images.size(), stage.getName());
+        log.debug("Found {} images matching search criteria for stage: {}", images.size(), stage.getName());
         return images.stream()
                 .map(imageMapper::toDto)
                 .collect(Collectors.toList());
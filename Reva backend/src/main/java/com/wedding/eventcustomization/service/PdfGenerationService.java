@@ -1,107 +1,271 @@
 package com.wedding.eventcustomization.service;
 
-import com.itextpdf.html2pdf.HtmlConverter;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
+import com.wedding.eventcustomization.config.MetricsConfig;
+import com.wedding.eventcustomization.config.PdfProperties;
 import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.exception.ResourceNotFoundException;
+import com.wedding.eventcustomization.pdf.BrochureSection;
+import com.wedding.eventcustomization.pdf.BrochureTemplate;
+import com.wedding.eventcustomization.pdf.PdfBatch;
+import com.wedding.eventcustomization.pdf.PdfContent;
+import com.wedding.eventcustomization.pdf.PdfDocumentCache;
+import com.wedding.eventcustomization.pdf.PdfGenerationEvent;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import com.wedding.eventcustomization.pdf.PdfRenderBulkhead;
+import com.wedding.eventcustomization.pdf.PdfRenderPool;
+import com.wedding.eventcustomization.pdf.PdfRenderEngine;
+import com.wedding.eventcustomization.pdf.PdfRenderer;
+import com.wedding.eventcustomization.pdf.PdfRequestFingerprint;
+import com.wedding.eventcustomization.pdf.PdfSpool;
+import com.wedding.eventcustomization.pdf.PdfStageMetrics;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
+import com.wedding.eventcustomization.pdf.SectionedPdfRenderer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Slf4j
 public class PdfGenerationService {
     
+    private final BrochureTemplate brochureTemplate;
+    private final List<PdfRenderer> renderers;
+    private final PdfDocumentCache documentCache;
+    private final PdfRenderBulkhead renderBulkhead;
+    private final PdfRenderPool renderPool;
+    private final SectionedPdfRenderer sectionedRenderer;
+    private final PdfSpool pdfSpool;
+    private final PdfStageMetrics stageMetrics;
+    private final PdfImageFetcher imageFetcher;
+    private final DecorationImageCatalog decorationImageCatalog;
+    private final PdfProperties pdfProperties;
+    
     public byte[] generateWeddingCustomizationPdf(PdfGenerationRequest request) throws IOException {
-        log.info("Generating PDF for event: {} with {} selected images", 
-                request.getEventName(), request.getSelectedImages().size());
-        
-        String htmlContent = generateHtmlContent(request);
+        try (RenderedPdf pdf = generate(request, fingerprint(request))) {
+            return pdf.content().toByteArray();
+        }
+    }
+    
+    public String fingerprint(PdfGenerationRequest request) {
+        PdfGenerationRequest canonical = canonicalize(request);
+        return PdfRequestFingerprint.of(canonical, catalogVersions(imageIds(canonical)));
+    }
+    
+    /**
+     * The returned document must be closed once written out; large ones are backed by a
+     * spool file that is deleted on close.
+     */
+    public RenderedPdf generate(PdfGenerationRequest request, String fingerprint) throws IOException {
+        PdfGenerationEvent event = new PdfGenerationEvent();
+        event.begin();
+        RenderedPdf pdf = generate(request, fingerprint, event);
+        commit(event, request, pdf);
+        return pdf;
+    }
+    
+    /**
+     * Renders the request without looking it up in or adding it to the document cache, for
+     * background renders that would otherwise evict the documents users are downloading.
+     */
+    public RenderedPdf generateUncached(PdfGenerationRequest request) throws IOException {
+        PdfGenerationEvent event = new PdfGenerationEvent();
+        event.begin();
+        PdfGenerationRequest canonical = canonicalize(request);
+        String fingerprint = PdfRequestFingerprint.of(canonical, catalogVersions(imageIds(canonical)));
+        RenderedPdf pdf = render(canonical, fingerprint, event);
+        commit(event, request, pdf);
+        return pdf;
+    }
+    
+    private RenderedPdf generate(PdfGenerationRequest request, String fingerprint, PdfGenerationEvent event) throws IOException {
+        PdfContent cached = documentCache.get(fingerprint).orElse(null);
+        if (cached != null) {
+            log.debug("Serving cached PDF {} for event: {} ({} bytes)", fingerprint, request.getEventId(), cached.size());
+            return new RenderedPdf(fingerprint, cached, true, false);
+        }
         
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            HtmlConverter.convertToPdf(htmlContent, outputStream);
-            byte[] pdfBytes = outputStream.toByteArray();
-            
-            log.info("Successfully generated PDF with {} bytes", pdfBytes.length);
-            return pdfBytes;
+        PdfGenerationRequest canonical = canonicalize(request);
+        RenderedPdf pdf = render(canonical, fingerprint, event);
+        if (pdf.degraded()) {
+            log.warn("PDF {} shows placeholders for unreachable images and is not cached", fingerprint);
+        } else {
+            documentCache.put(fingerprint, imageIds(canonical), pdf.content());
         }
+        return pdf;
     }
     
-    private String generateHtmlContent(PdfGenerationRequest request) {
-        StringBuilder html = new StringBuilder();
+    private RenderedPdf render(PdfGenerationRequest canonical, String fingerprint, PdfGenerationEvent event) throws IOException {
+        PdfRenderer renderer = renderer(canonical.getEngine());
+        boolean sectioned = sectionedRenderer.applies(canonical);
+        event.engine = renderer.engine().name();
+        event.sectioned = sectioned;
+        log.debug("Generating PDF for event: {} with {} selected images using the {} engine", 
+                canonical.getEventName(), canonical.getSelectedImages().size(), renderer.engine());
         
-        // HTML Header
-        html.append("<!DOCTYPE html>")
-            .append("<html>")
-            .append("<head>")
-            .append("<meta charset='UTF-8'>")
-            .append("<title>Wedding Customization - ").append(request.getEventName()).append("</title>")
-            .append("<style>")
-            .append("body { font-family: Arial, sans-serif; margin: 0; padding: 20px; background-color: #f9f9f9; }")
-            .append(".header { text-align: center; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 30px; border-radius: 10px; margin-bottom: 30px; }")
-            .append(".header h1 { margin: 0; font-size: 2.5em; }")
-            .append(".header p { margin: 10px 0 0 0; font-size: 1.2em; opacity: 0.9; }")
-            .append(".content { background: white; padding: 30px; border-radius: 10px; box-shadow: 0 4px 6px rgba(0,0,0,0.1); }")
-            .append(".section { margin-bottom: 40px; }")
-            .append(".section h2 { color: #333; border-bottom: 3px solid #667eea; padding-bottom: 10px; margin-bottom: 20px; }")
-            .append(".image-grid { display: grid; grid-template-columns: repeat(auto-fit, minmax(300px, 1fr)); gap: 20px; }")
-            .append(".image-item { text-align: center; padding: 20px; border: 2px solid #e0e0e0; border-radius: 10px; background: #fafafa; }")
-            .append(".image-item img { max-width: 100%; height: 200px; object-fit: cover; border-radius: 8px; margin-bottom: 15px; }")
-            .append(".image-item h3 { color: #667eea; margin: 10px 0; }")
-            .append(".image-item p { color: #666; font-size: 0.9em; line-height: 1.4; }")
-            .append(".footer { text-align: center; margin-top: 40px; padding: 20px; color: #666; border-top: 1px solid #e0e0e0; }")
-            .append(".generated-date { font-style: italic; }")
-            .append("</style>")
-            .append("</head>")
-            .append("<body>");
+        long start = System.nanoTime();
+        PdfSpool.Output output = pdfSpool.newOutput();
+        PdfContent content;
+        try {
+            renderBulkhead.execute(() -> {
+                if (sectioned) {
+                    sectionedRenderer.render(renderer, canonical, LocalDateTime.now(), output);
+                } else {
+                    renderer.render(canonical, BrochureSection.whole(canonical), LocalDateTime.now(), output);
+                }
+                return null;
+            });
+            output.close();
+            content = output.toContent();
+        } catch (IOException | RuntimeException e) {
+            output.discard();
+            throw e;
+        }
         
-        // Header Section
-        html.append("<div class='header'>")
-            .append("<h1>🎉 ").append(request.getEventName()).append(" Customization</h1>")
-            .append("<p>Your Perfect Wedding Event Configuration</p>")
-            .append("</div>");
+        List<String> imageUrls = canonical.getSelectedImages().stream().map(PdfGenerationRequest.SelectedImage::getImageUrl).toList();
+        boolean degraded = imageFetcher.usedFallbackSince(imageUrls, start);
+        log.debug("Successfully generated PDF with {} bytes{}", content.size(), output.isSpooled() ? " (spooled to disk)" : "");
+        return new RenderedPdf(fingerprint, content, false, degraded);
+    }
+    
+    private static void commit(PdfGenerationEvent event, PdfGenerationRequest request, RenderedPdf pdf) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.fingerprint = pdf.fingerprint();
+            event.imageCount = request.getSelectionSize();
+            event.fromCache = pdf.fromCache();
+            event.size = pdf.content().size();
+            event.commit();
+        }
+    }
+    
+    public String encodeBase64(PdfGenerationRequest request, RenderedPdf pdf) throws IOException {
+        PdfRenderEngine engine = request.getEngine() != null ? request.getEngine() : pdfProperties.getDefaultEngine();
+        PdfStageMetrics.Trace trace = stageMetrics.trace(engine, request.getSelectionSize());
+        return trace.time(PdfStageMetrics.Stage.ENCODE_BASE64, () -> Base64.getEncoder().encodeToString(pdf.content().toByteArray()));
+    }
+    
+    public PdfBatch generateBatch(List<PdfGenerationRequest> requests) {
+        int maxDocuments = pdfProperties.getBatch().getMaxDocuments();
+        if (requests.size() > maxDocuments) {
+            throw new IllegalArgumentException("A PDF batch may contain at most " + maxDocuments + " documents");
+        }
+        log.debug("Starting PDF batch of {} documents", requests.size());
         
-        // Content Section
-        html.append("<div class='content'>")
-            .append("<div class='section'>")
-            .append("<h2>📋 Selected Decorations</h2>")
-            .append("<div class='image-grid'>");
+        // Every selection is resolved up front, so an unknown image fails the batch before
+        // any document starts rendering
+        List<PdfGenerationRequest> resolvedRequests = requests.stream().map(this::resolveSelection).toList();
+        List<String> entryNames = new ArrayList<>(requests.size());
+        Set<String> usedNames = new HashSet<>();
+        for (PdfGenerationRequest resolved : resolvedRequests) {
+            entryNames.add(uniqueEntryName(resolved.getEventName(), usedNames));
+        }
         
-        // Add selected images
-        for (PdfGenerationRequest.SelectedImage image : request.getSelectedImages()) {
-            html.append("<div class='image-item'>")
-                .append("<img src='").append(image.getImageUrl()).append("' alt='").append(image.getImageName()).append("'>")
-                .append("<h3>").append(image.getStageName()).append("</h3>")
-                .append("<p><strong>").append(image.getImageName()).append("</strong></p>");
-            
-            if (image.getDescription() != null && !image.getDescription().trim().isEmpty()) {
-                html.append("<p>").append(image.getDescription()).append("</p>");
+        List<CompletableFuture<RenderedPdf>> renders = new ArrayList<>(requests.size());
+        try {
+            for (PdfGenerationRequest resolved : resolvedRequests) {
+                renders.add(renderPool.submit(() -> generate(resolved, fingerprint(resolved))));
             }
-            
-            html.append("</div>");
+            return new PdfBatch(entryNames, renders);
+        } catch (RuntimeException e) {
+            PdfBatch.cancel(renders);
+            throw e;
         }
+    }
+    
+    public String generateHtmlContent(PdfGenerationRequest request) {
+        return brochureTemplate.render(resolveSelection(request), LocalDateTime.now());
+    }
+    
+    /**
+     * Expands a compact request (event id and image ids) into a full one from the decoration
+     * image catalog, so names and URLs come from the server rather than the client. Full
+     * requests are returned unchanged.
+     */
+    public PdfGenerationRequest resolveSelection(PdfGenerationRequest request) {
+        if (request.getImageIds() == null) {
+            return request;
+        }
+        List<Long> imageIds = request.getImageIds().stream().distinct().toList();
+        Map<Long, DecorationImageCatalog.CatalogImage> catalogImages = decorationImageCatalog.getAll(imageIds);
         
-        html.append("</div>") // Close image-grid
-            .append("</div>") // Close section
-            .append("</div>"); // Close content
-        
-        // Footer
-        html.append("<div class='footer'>")
-            .append("<p>Generated on: <span class='generated-date'>")
-            .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' h:mm a")))
-            .append("</span></p>")
-            .append("<p>Thank you for choosing our wedding customization service! 💕</p>")
-            .append("</div>");
-        
-        html.append("</body></html>");
-        
-        return html.toString();
+        List<PdfGenerationRequest.SelectedImage> selectedImages = new ArrayList<>(imageIds.size());
+        String eventName = null;
+        for (Long imageId : imageIds) {
+            DecorationImageCatalog.CatalogImage image = catalogImages.get(imageId);
+            if (image == null || !image.active()) {
+                throw new ResourceNotFoundException("Decoration image not found with id: " + imageId);
+            }
+            if (!image.eventId().equals(request.getEventId())) {
+                throw new IllegalArgumentException("Decoration image " + imageId + " does not belong to event " + request.getEventId());
+            }
+            eventName = image.eventName();
+            selectedImages.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId(image.decorationTypeId())
+                    .stageName(image.decorationTypeName())
+                    .imageId(image.id())
+                    .imageName(image.name())
+                    .imageUrl(image.imageUrl())
+                    .description(image.description())
+                    .build());
+        }
+        return request.toBuilder()
+                .eventName(eventName)
+                .selectedImages(selectedImages)
+                .imageIds(null)
+                .build();
+    }
+    
+    private PdfGenerationRequest canonicalize(PdfGenerationRequest request) {
+        PdfGenerationRequest resolved = resolveSelection(request);
+        PdfRenderEngine engine = resolved.getEngine() != null ? resolved.getEngine() : pdfProperties.getDefaultEngine();
+        return PdfRequestFingerprint.canonicalize(resolved.toBuilder().engine(engine).build());
+    }
+    
+    private PdfRenderer renderer(PdfRenderEngine engine) {
+        return renderers.stream()
+                .filter(renderer -> renderer.engine() == engine)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported PDF render engine: " + engine));
+    }
+    
+    private Map<Long, String> catalogVersions(List<Long> imageIds) {
+        Map<Long, String> versions = new HashMap<>();
+        if (imageIds.isEmpty()) {
+            return versions;
+        }
+        decorationImageCatalog.getAll(imageIds).forEach((imageId, image) -> versions.put(imageId, image.version()));
+        return versions;
+    }
+    
+    private static String uniqueEntryName(String eventName, Set<String> usedNames) {
+        String baseName = "wedding_customization_" + eventName.replaceAll("[^a-zA-Z0-9]", "_");
+        String name = baseName + ".pdf";
+        for (int suffix = 2; !usedNames.add(name); suffix++) {
+            name = baseName + "_" + suffix + ".pdf";
+        }
+        return name;
+    }
+    
+    private static List<Long> imageIds(PdfGenerationRequest request) {
+        return request.getSelectedImages().stream()
+                .map(PdfGenerationRequest.SelectedImage::getImageId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
     }
 }
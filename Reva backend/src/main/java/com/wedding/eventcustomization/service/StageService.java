@@ -27,7 +27,7 @@ public class StageService {
     private final StageMapper stageMapper;
     
     public List<StageDto> getAllStagesByEventId(Long eventId) {
-        log.info("Fetching all active stages for event id: {}", eventId);
+        log.debug("Fetching all active stages for event id: {}", eventId);
         
         // Verify event exists and is active
         Event event = eventRepository.findByIdAndIsActiveTrue(eventId)
@@ -37,25 +37,25 @@ public class StageService {
                 });
         
         List<Stage> stages = stageRepository.findByEventIdAndIsActiveTrueOrderByNameAsc(eventId);
-        log.info("Found {} active stages for event: {}", stages.size(), event.getName());
+        log.debug("Found {} active stages for event: {}", stages.size(), event.getName());
         return stages.stream()
                 .map(stageMapper::toDto)
                 .collect(Collectors.toList());
     }
     
     public StageDto getStageById(Long id) {
-        log.info("Fetching stage with id: {}", id);
+        log.debug("Fetching stage with id: {}", id);
         Stage stage = stageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
                     log.error("Stage not found with id: {}", id);
                     return new ResourceNotFoundException("Stage not found with id: " + id);
                 });
-        log.info("Successfully fetched stage: {}", stage.getName());
+        log.debug("Successfully fetched stage: {}", stage.getName());
         return stageMapper.toDto(stage);
     }
     
     public StageDto createStage(StageDto stageDto) {
-        log.info("Creating new stage: {} for event id: {}", stageDto.getName(), stageDto.getEventId());
+        log.debug("Creating new stage: {} for event id: {}", stageDto.getName(), stageDto.getEventId());
         
         // Verify event exists and is active
         Event event = eventRepository.findByIdAndIsActiveTrue(stageDto.getEventId())
@@ -78,7 +78,7 @@ public class StageService {
     }
     
     public StageDto updateStage(Long id, StageDto stageDto) {
-        log.info("Updating stage with id: {}", id);
+        log.debug("Updating stage with id: {}", id);
         
         Stage existingStage = stageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -111,7 +111,7 @@ public class StageService {
     }
     
     public void deleteStage(Long id) {
-        log.info("Soft deleting stage with id: {}", id);
+        log.debug("Soft deleting stage with id: {}", id);
         
         Stage stage = stageRepository.findByIdAndIsActiveTrue(id)
                 .orElseThrow(() -> {
@@ -125,7 +125,7 @@ public class StageService {
     }
     
     public List<StageDto> searchStagesByEventId(Long eventId, String name) {
-        log.info("Searching stages for event id: {} with name containing: {}", eventId, name);
+        log.debug("Searching stages for event id: {} with name containing: {}", eventId, name);
         
         // Verify event exists and is active
         Event event = eventRepository.findByIdAndIsActiveTrue(eventId)
@@ -135,7 +135,7 @@ public class StageService {
                 });
         
         List<Stage> stages = stageRepository.findByEventIdAndNameContainingIgnoreCaseAndIsActiveTrue(eventId, name);
-        log.info("Found {} stages matching search criteria for event: {}", stages.size(), event.getName());
+        log.debug("Found {} stages matching search criteria for event: {}", stages.size(), event.getName());
         return stages.stream()
                 .map(stageMapper::toDto)
                 .collect(Collectors.toList());
@@ -0,0 +1,36 @@
+package com.wedding.eventcustomization.sql;
+
+import com.wedding.eventcustomization.config.SqlProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes every JDBC statement through datasource-proxy so {@link SqlStatementStats} can count
+ * it against the request that ran it.
+ */
+@Configuration
+@EnableConfigurationProperties(SqlProperties.class)
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            // One per round trip, a JDBC batch counts once
+                            .afterQuery((execution, queries) -> SqlStatementStats.record(1, execution.getElapsedTime()))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.wedding.eventcustomization.sql;
+
+import com.wedding.eventcustomization.config.SqlProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Counts the SQL statements and database time of each request. Totals are recorded as
+ * {@code http.server.requests.sql.statements} and {@code http.server.requests.sql.time} by
+ * method and URI pattern, and requests above {@code app.sql.warn-threshold} statements are
+ * logged, which is where an N+1 query shows up first. The stats are left on the request as
+ * {@link SqlStatementStats#ATTRIBUTE} for the access log.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private final SqlProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        request.setAttribute(SqlStatementStats.ATTRIBUTE, stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        if (stats.getStatements() > properties.getWarnThreshold()) {
+            log.warn("{} {} ran {} SQL statements in {} ms, check for N+1 queries",
+                    request.getMethod(), uri, stats.getStatements(), stats.getElapsedMillis());
+        }
+        if (!properties.isMetrics() || pattern == null) {
+            return;
+        }
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements run per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Database time per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofMillis(stats.getElapsedMillis()));
+    }
+}
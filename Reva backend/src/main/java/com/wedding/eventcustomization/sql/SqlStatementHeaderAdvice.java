@@ -0,0 +1,39 @@
+package com.wedding.eventcustomization.sql;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Reports the statement count of the request on its response, set just before the body is
+ * written since the headers are gone once it is.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "app.sql", name = "response-headers", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENT_COUNT_HEADER = "X-SQL-Statement-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            response.getHeaders().set(STATEMENT_COUNT_HEADER, Integer.toString(stats.getStatements()));
+            response.getHeaders().set(TIME_HEADER, Long.toString(stats.getElapsedMillis()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,52 @@
+package com.wedding.eventcustomization.sql;
+
+/**
+ * SQL statements executed by the current thread since {@link #start()}, so a request can
+ * tell how many round trips to the database it caused.
+ */
+public final class SqlStatementStats {
+
+    /** Request attribute holding the stats of the request once its filter has run. */
+    public static final String ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long elapsedMillis;
+
+    private SqlStatementStats() {
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Statements run outside a started scope, e.g. on background threads, are not counted.
+     */
+    static void record(int statements, long elapsedMillis) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements += statements;
+            stats.elapsedMillis += elapsedMillis;
+        }
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -83,8 +83,28 @@ export interface PdfGenerationRequest {
     imageUrl: string;
     decorationTypeName: string;
   }[];
+  engine?: 'HTML' | 'LAYOUT' | 'FRAGMENTS';
 }
 
+// Compact form: the server fills in names and URLs from the catalog
+export interface CompactPdfGenerationRequest {
+  eventId: number;
+  imageIds: number[];
+  engine?: 'HTML' | 'LAYOUT' | 'FRAGMENTS';
+}
+
+// Short-lived link to a PDF stored by the server
+export interface PdfDownloadLink {
+  url: string;
+  fileName: string;
+  size: number;
+  sha256: string;
+  expiresAt: string;
+}
+
+const idempotencyHeaders = (idempotencyKey?: string) =>
+  idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined;
+
 // Event API
 export const eventApi = {
   getAllEvents: (): Promise<ApiResponse<Event[]>> =>
@@ -123,11 +143,19 @@ export const decorationImageApi = {
 
 // PDF Generation API
 export const pdfApi = {
-  generatePdf: (request: PdfGenerationRequest): Promise<Blob> =>
-    api.post('/pdf/generate', request, { responseType: 'blob' }).then(res => res.data),
+  // Pass the same idempotencyKey when retrying so the server renders the document only once
+  generatePdf: (request: PdfGenerationRequest | CompactPdfGenerationRequest, idempotencyKey?: string): Promise<Blob> =>
+    api.post('/pdf/generate', request, { responseType: 'blob', headers: idempotencyHeaders(idempotencyKey) }).then(res => res.data),
+  
+  generatePdfBase64: (request: PdfGenerationRequest | CompactPdfGenerationRequest, idempotencyKey?: string): Promise<ApiResponse<string>> =>
+    api.post('/pdf/generate-base64', request, { headers: idempotencyHeaders(idempotencyKey) }).then(res => res.data),
+  
+  generatePdfLink: (request: PdfGenerationRequest | CompactPdfGenerationRequest, idempotencyKey?: string): Promise<ApiResponse<PdfDownloadLink>> =>
+    api.post('/pdf/generate-link', request, { headers: idempotencyHeaders(idempotencyKey) }).then(res => res.data),
   
-  generatePdfBase64: (request: PdfGenerationRequest): Promise<ApiResponse<string>> =>
-    api.post('/pdf/generate-base64', request).then(res => res.data),
+  // Full catalog brochure of an event, pre-rendered by the server; 404 until it is ready
+  catalogBrochureUrl: (eventId: number): string =>
+    `${new URL(API_BASE_URL).origin}/brochures/event-${eventId}.pdf`,
 };
 
 export default api;
\ No newline at end of file
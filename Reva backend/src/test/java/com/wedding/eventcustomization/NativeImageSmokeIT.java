@@ -0,0 +1,183 @@
+package com.wedding.eventcustomization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the native executable from {@code mvn -Pnative verify} against an in-memory H2 database
+ * and reads the seeded catalog and generates a brochure through it, so missing reachability
+ * metadata shows up as a failed build rather than in production. Time to ready and resident
+ * memory are held to {@code native.maxReadyMillis} and {@code native.maxRssMegabytes}.
+ */
+@EnabledIfSystemProperty(named = "native.executable", matches = ".+")
+@Slf4j
+class NativeImageSmokeIT {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final long MAX_READY_MILLIS = Long.getLong("native.maxReadyMillis", 5_000);
+    private static final long MAX_RSS_MEGABYTES = Long.getLong("native.maxRssMegabytes", 300);
+
+    private static final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static Process application;
+    private static Path applicationLog;
+    private static URI baseUri;
+    private static long readyMillis;
+    private static OptionalLong rssKilobytes;
+
+    @BeforeAll
+    static void startExecutable() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUri = URI.create("http://localhost:" + port);
+        applicationLog = Files.createTempFile("native-smoke", ".log");
+        List<String> command = List.of(
+                System.getProperty("native.executable"),
+                "--spring.profiles.active=" + System.getProperty("native.profiles", "prod"),
+                "--server.port=" + port,
+                "--management.server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:native;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                // Seeded images are remote, keep them out of startup
+                "--app.pdf.brochures.enabled=false");
+        long start = System.nanoTime();
+        application = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(applicationLog.toFile())
+                .start();
+        awaitReady(start);
+        readyMillis = (System.nanoTime() - start) / 1_000_000;
+        rssKilobytes = residentSetKilobytes();
+        log.info("Native executable ready in {} ms, RSS {}", readyMillis,
+                rssKilobytes.isPresent() ? rssKilobytes.getAsLong() / 1024 + " MB" : "unknown");
+    }
+
+    @AfterAll
+    static void stopExecutable() throws Exception {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @Test
+    void startsWithinBudget() {
+        assertThat(readyMillis).as("time to ready in ms").isLessThanOrEqualTo(MAX_READY_MILLIS);
+        rssKilobytes.ifPresent(rss -> assertThat(rss / 1024).as("RSS in MB").isLessThanOrEqualTo(MAX_RSS_MEGABYTES));
+    }
+
+    @Test
+    void servesTheSeededCatalog() throws Exception {
+        JsonNode events = getJson("/api/v1/events").path("data");
+        assertThat(events.findValuesAsText("name")).contains("Wedding");
+
+        long eventId = events.get(0).path("id").asLong();
+        JsonNode decorationTypes = getJson("/api/v1/decoration-types/event/" + eventId).path("data");
+        assertThat(decorationTypes).isNotEmpty();
+        long decorationTypeId = decorationTypes.get(0).path("id").asLong();
+        assertThat(getJson("/api/v1/decoration-images/decoration-type/" + decorationTypeId).path("data")).isNotEmpty();
+    }
+
+    @Test
+    void generatesABrochure() throws Exception {
+        long eventId = getJson("/api/v1/events").path("data").get(0).path("id").asLong();
+        long decorationTypeId = getJson("/api/v1/decoration-types/event/" + eventId).path("data").get(0).path("id").asLong();
+        long imageId = getJson("/api/v1/decoration-images/decoration-type/" + decorationTypeId).path("data").get(0).path("id").asLong();
+        String request = objectMapper.createObjectNode()
+                .put("eventId", eventId)
+                .set("imageIds", objectMapper.createArrayNode().add(imageId))
+                .toString();
+
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(baseUri.resolve("/api/v1/pdf/generate"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(request))
+                        .timeout(Duration.ofSeconds(60))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).as(NativeImageSmokeIT::logTail).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("application/pdf");
+        assertThat(new String(response.body(), 0, 5)).isEqualTo("%PDF-");
+    }
+
+    private static JsonNode getJson(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(baseUri.resolve(path))
+                        .timeout(Duration.ofSeconds(10))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(NativeImageSmokeIT::logTail).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private static void awaitReady(long start) throws Exception {
+        long deadline = start + STARTUP_TIMEOUT.toNanos();
+        // Published once the seeding runners are done, unlike the health endpoint
+        HttpRequest ready = HttpRequest.newBuilder(baseUri.resolve("/actuator/metrics/application.ready.time"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() - deadline < 0) {
+            assertThat(application.isAlive()).as(NativeImageSmokeIT::logTail).isTrue();
+            try {
+                if (client.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // Not listening yet
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Not ready within " + STARTUP_TIMEOUT + "\n" + logTail());
+    }
+
+    /**
+     * From {@code /proc}, so only known on Linux; the budget is not checked elsewhere.
+     */
+    private static OptionalLong residentSetKilobytes() throws IOException {
+        Path status = Path.of("/proc", Long.toString(application.pid()), "status");
+        if (!Files.exists(status)) {
+            return OptionalLong.empty();
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim()))
+                .findFirst();
+    }
+
+    private static String logTail() {
+        try {
+            List<String> lines = Files.readAllLines(applicationLog);
+            return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+        } catch (IOException e) {
+            return "(no log: " + e.getMessage() + ")";
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.wedding.eventcustomization.accesslog;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.wedding.eventcustomization.config.AccessLogProperties;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final AccessLogProperties properties = new AccessLogProperties();
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logsSampledRequestsWithRouteStatusAndSize() throws Exception {
+        properties.setSuccessSampleRate(1.0);
+
+        serve(HttpServletResponse.SC_OK, "{\"success\":true}");
+
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> fields = fields(appender.list.get(0));
+        assertThat(fields).containsEntry("method", "GET")
+                .containsEntry("route", "/api/v1/events/{id}")
+                .containsEntry("status", 200)
+                .containsEntry("response_bytes", 16L)
+                .containsEntry("sample_rate", 1.0)
+                .containsKey("duration_ms");
+    }
+
+    @Test
+    void alwaysLogsErrorsAndSkipsUnsampledSuccesses() throws Exception {
+        properties.setSuccessSampleRate(0.0);
+
+        serve(HttpServletResponse.SC_OK, "{}");
+        serve(HttpServletResponse.SC_NOT_FOUND, "{}");
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(fields(appender.list.get(0))).containsEntry("status", 404).doesNotContainKey("sample_rate");
+    }
+
+    private void serve(int status, String body) throws ServletException, IOException {
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/events/{id}");
+                response.setStatus(status);
+                response.getWriter().write(body);
+            }
+        };
+        new MockFilterChain(handler, new AccessLogFilter(properties))
+                .doFilter(new MockHttpServletRequest("GET", "/api/v1/events/1"), new MockHttpServletResponse());
+    }
+
+    private static Map<String, Object> fields(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
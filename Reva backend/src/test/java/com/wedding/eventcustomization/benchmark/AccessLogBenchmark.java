@@ -0,0 +1,176 @@
+package com.wedding.eventcustomization.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import com.wedding.eventcustomization.accesslog.AccessLogFilter;
+import com.wedding.eventcustomization.config.AccessLogProperties;
+import com.wedding.eventcustomization.service.EventService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging overhead of one {@code GET /api/v1/events/{id}} around a trivial handler: the former
+ * INFO lines of the controller and service (three per request) through the application's async
+ * file appender, against the access log event for every request and for the default 1% sample.
+ * Both loggers write to a real file through async appenders configured as in
+ * {@code logback-spring.xml}, so a full 512-entry queue blocks the caller as it would in prod.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    private static final String ROUTE = "/api/v1/events/{id}";
+    private static final byte[] BODY = ("{\"success\":true,\"message\":\"Operation successful\",\"data\":{\"id\":1,"
+            + "\"name\":\"Wedding\",\"description\":\"Wedding ceremony and celebrations\",\"isActive\":true}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private LoggerContext loggerContext;
+    private Path logDirectory;
+    private org.slf4j.Logger serviceLog;
+    private HttpServlet handler;
+    private HttpServlet perCallHandler;
+    private Filter accessLogAll;
+    private Filter accessLogSampled;
+
+    @Setup
+    public void setUp() throws IOException {
+        logDirectory = Files.createTempDirectory("access-log-benchmark");
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+        loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.OFF);
+        attach("com.wedding.eventcustomization", asyncFile("app.log",
+                "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n", 512, false));
+        attach(AccessLogFilter.LOGGER, asyncFile("access.log",
+                "%d{yyyy-MM-dd HH:mm:ss.SSS} %-5level %kvp%n", 1024, true));
+        serviceLog = LoggerFactory.getLogger(EventService.class);
+
+        handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.getOutputStream().write(BODY);
+            }
+        };
+        perCallHandler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+                serviceLog.info("Received request to get event by id: {}", 1L);
+                serviceLog.info("Fetching event with id: {}", 1L);
+                serviceLog.info("Successfully fetched event: {}", "Wedding");
+                handler.service(request, response);
+            }
+        };
+        accessLogAll = new AccessLogFilter(properties(1.0));
+        accessLogSampled = new AccessLogFilter(properties(0.01));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.reset();
+        try (var files = Files.list(logDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(logDirectory);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noLogging() throws ServletException, IOException {
+        return serve(handler);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse perCallInfoLogging() throws ServletException, IOException {
+        return serve(perCallHandler);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse accessLogEveryRequest() throws ServletException, IOException {
+        return serve(handler, accessLogAll);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse accessLogSampled() throws ServletException, IOException {
+        return serve(handler, accessLogSampled);
+    }
+
+    private static MockHttpServletResponse serve(HttpServlet servlet, Filter... filters) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/events/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet, filters).doFilter(request, response);
+        return response;
+    }
+
+    private static AccessLogProperties properties(double successSampleRate) {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setSuccessSampleRate(successSampleRate);
+        return properties;
+    }
+
+    private void attach(String loggerName, AsyncAppender appender) {
+        Logger logger = loggerContext.getLogger(loggerName);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    private AsyncAppender asyncFile(String fileName, String pattern, int queueSize, boolean neverBlock) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(pattern);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setName(fileName);
+        file.setFile(logDirectory.resolve(fileName).toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setName("ASYNC_" + fileName);
+        async.setQueueSize(queueSize);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(neverBlock);
+        async.addAppender(file);
+        async.start();
+        return async;
+    }
+}
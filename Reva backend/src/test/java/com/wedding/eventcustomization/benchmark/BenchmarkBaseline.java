@@ -0,0 +1,200 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with the committed baseline and fails when a benchmark lost more
+ * throughput, or gained more p99 latency or allocation per operation, than its tolerance.
+ * Run by the {@code benchmark-gate} profile after the suites; see the profile for the options.
+ * <p>
+ * Expects each benchmark in throughput and sample mode, the latter for the percentiles, with
+ * the GC profiler for {@code gc.alloc.rate.norm}. Benchmarks missing from the baseline are
+ * listed but never fail the check. Results from a different JDK than the baseline's are only
+ * reported: the baseline holds for the JDK and machine that recorded it.
+ */
+public final class BenchmarkBaseline {
+
+    // Allocation of a few objects more is noise, not a regression, for the smallest benchmarks
+    private static final double MIN_ALLOCATION_DELTA_BYTES = 64;
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        Path result = Path.of(options.get("result"));
+        Path baseline = Path.of(options.get("baseline"));
+
+        if (Boolean.parseBoolean(options.getOrDefault("update", "false"))) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            writeBaseline(result, baseline);
+            System.out.println("Benchmark baseline " + baseline + " updated from " + result);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("No benchmark baseline at " + baseline + ", create it with -Dbenchmark.update-baseline=true");
+            System.exit(1);
+        }
+
+        Tolerances tolerances = new Tolerances(
+                Double.parseDouble(options.getOrDefault("throughput-tolerance", "0.10")),
+                Double.parseDouble(options.getOrDefault("p99-tolerance", "0.20")),
+                Double.parseDouble(options.getOrDefault("allocation-tolerance", "0.15")));
+        List<String> regressions = compare(read(baseline), read(result), tolerances);
+        String baselineRuntime = runtime(baseline);
+        String resultRuntime = runtime(result);
+        if (!baselineRuntime.equals(resultRuntime)) {
+            System.out.println();
+            System.out.println("Baseline was recorded on " + baselineRuntime + ", results are from " + resultRuntime
+                    + ": not failing on " + regressions.size() + " regression(s). Re-record the baseline on this JDK to gate");
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            System.out.println();
+            System.out.println(regressions.size() + " benchmark regression(s) beyond tolerance:");
+            regressions.forEach(regression -> System.out.println("  " + regression));
+            System.out.println("If the slowdown is intended, update the baseline with -Dbenchmark.update-baseline=true");
+            System.exit(1);
+        }
+        System.out.println("No benchmark regressions beyond tolerance");
+    }
+
+    /**
+     * The result without the raw samples, which are most of its size and not compared.
+     */
+    private static void writeBaseline(Path result, Path baseline) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode runs = objectMapper.readTree(result.toFile());
+        for (JsonNode run : runs) {
+            // The JVM path names the recording host and is not compared
+            ((ObjectNode) run).remove("jvm");
+            ((ObjectNode) run.path("primaryMetric")).remove(List.of("rawData", "rawDataHistogram"));
+            run.path("secondaryMetrics").forEach(metric -> ((ObjectNode) metric).remove(List.of("rawData", "rawDataHistogram")));
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(baseline.toFile(), runs);
+    }
+
+    static List<String> compare(Map<String, Figures> baseline, Map<String, Figures> current, Tolerances tolerances) {
+        System.out.printf(Locale.ROOT, "Benchmark results against the baseline (tolerances: throughput -%.0f%%, p99 +%.0f%%, allocation +%.0f%%)%n",
+                tolerances.throughput() * 100, tolerances.p99() * 100, tolerances.allocation() * 100);
+        System.out.printf(Locale.ROOT, "%-72s %-11s %14s %14s %9s%n", "benchmark", "metric", "baseline", "current", "change");
+        List<String> regressions = new ArrayList<>();
+        current.forEach((name, now) -> {
+            Figures before = baseline.get(name);
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-72s %-11s %14s %14s %9s%n", name, "", "", "", "new");
+                return;
+            }
+            // Higher throughput is better, higher latency and allocation are worse
+            row(regressions, name, "throughput", "ops/s", before.opsPerSecond(), now.opsPerSecond(),
+                    -tolerances.throughput(), false, 0);
+            row(regressions, name, "p99", "ms", before.p99Millis(), now.p99Millis(),
+                    tolerances.p99(), true, 0);
+            row(regressions, name, "alloc/op", "B", before.bytesPerOp(), now.bytesPerOp(),
+                    tolerances.allocation(), true, MIN_ALLOCATION_DELTA_BYTES);
+        });
+        baseline.keySet().stream()
+                .filter(name -> !current.containsKey(name))
+                .forEach(name -> System.out.printf(Locale.ROOT, "%-72s %-11s %14s %14s %9s%n", name, "", "", "", "not run"));
+        return regressions;
+    }
+
+    private static void row(List<String> regressions, String name, String metric, String unit, double before, double now,
+                            double tolerance, boolean higherIsWorse, double minDelta) {
+        if (Double.isNaN(before) || Double.isNaN(now)) {
+            return;
+        }
+        double change = before == 0 ? (now == 0 ? 0 : Double.POSITIVE_INFINITY) : (now - before) / before;
+        boolean regressed = Math.abs(now - before) > minDelta
+                && (higherIsWorse ? change > tolerance : change < tolerance);
+        System.out.printf(Locale.ROOT, "%-72s %-11s %14s %14s %+8.1f%%%s%n",
+                name, metric, format(before, unit), format(now, unit), change * 100, regressed ? "  REGRESSION" : "");
+        if (regressed) {
+            regressions.add(String.format(Locale.ROOT, "%s: %s %s -> %s (%+.1f%%)",
+                    name, metric, format(before, unit), format(now, unit), change * 100));
+        }
+    }
+
+    /**
+     * Figures per benchmark and parameter combination, throughput and latency normalized to
+     * ops/s and milliseconds whatever time unit the benchmark reports in.
+     */
+    static Map<String, Figures> read(Path file) throws IOException {
+        Map<String, double[]> figures = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String name = name(run);
+            double[] values = figures.computeIfAbsent(name, key -> new double[]{Double.NaN, Double.NaN, Double.NaN});
+            JsonNode primary = run.path("primaryMetric");
+            String unit = primary.path("scoreUnit").asText();
+            switch (run.path("mode").asText()) {
+                case "thrpt" -> values[0] = primary.path("score").asDouble() * perSecond(unit.substring(unit.indexOf('/') + 1));
+                case "sample" -> values[1] = primary.path("scorePercentiles").path("99.0").asDouble()
+                        / perSecond(unit.substring(0, unit.indexOf('/'))) * 1000;
+                default -> {
+                }
+            }
+            JsonNode allocation = run.path("secondaryMetrics").path("gc.alloc.rate.norm");
+            if (!allocation.isMissingNode() && Double.isNaN(values[2])) {
+                values[2] = allocation.path("score").asDouble();
+            }
+        }
+        Map<String, Figures> result = new LinkedHashMap<>();
+        figures.forEach((name, values) -> result.put(name, new Figures(values[0], values[1], values[2])));
+        return result;
+    }
+
+    private static String runtime(Path file) throws IOException {
+        JsonNode run = new ObjectMapper().readTree(file.toFile()).path(0);
+        return run.path("vmName").asText() + " " + run.path("jdkVersion").asText();
+    }
+
+    private static String name(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        Map<String, String> params = new TreeMap<>();
+        run.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+        if (!params.isEmpty()) {
+            name.append(' ').append(params);
+        }
+        return name.toString();
+    }
+
+    private static double perSecond(String timeUnit) {
+        return switch (timeUnit) {
+            case "ns" -> 1e9;
+            case "us" -> 1e6;
+            case "ms" -> 1e3;
+            case "s" -> 1;
+            case "min" -> 1 / 60.0;
+            default -> throw new IllegalArgumentException("Unknown JMH time unit " + timeUnit);
+        };
+    }
+
+    private static String format(double value, String unit) {
+        String number = value >= 100 ? String.format(Locale.ROOT, "%,.0f", value) : String.format(Locale.ROOT, "%.3f", value);
+        return number + " " + unit;
+    }
+
+    record Figures(double opsPerSecond, double p99Millis, double bytesPerOp) {
+    }
+
+    record Tolerances(double throughput, double p99, double allocation) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.DecorationType;
+import com.wedding.eventcustomization.entity.Event;
+import com.wedding.eventcustomization.pdf.PdfRenderingResources;
+import com.wedding.eventcustomization.repository.DecorationImageRepository;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Offline fixtures for the benchmarks: decoration photos are generated into a temp directory
+ * and referenced through {@code file:} URLs so no run depends on a remote image host.
+ */
+final class BenchmarkFixtures {
+
+    private static final int DISTINCT_IMAGES = 8;
+    private static final int IMAGES_PER_TYPE = 6;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<String> writeImages(Path directory) throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_IMAGES; i++) {
+            BufferedImage image = new BufferedImage(640, 400, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setPaint(new GradientPaint(0, 0, new Color(0x667eea), 640, 400, new Color(0x764ba2 + i * 0x1010)));
+            graphics.fillRect(0, 0, 640, 400);
+            graphics.dispose();
+            Path file = directory.resolve("decoration-" + i + ".jpg");
+            ImageIO.write(image, "jpg", file.toFile());
+            urls.add(file.toUri().toString());
+        }
+        return urls;
+    }
+
+    /**
+     * Shared fonts for the default, non-compact output.
+     */
+    static PdfRenderingResources renderingResources() {
+        return new PdfRenderingResources(new PdfProperties());
+    }
+
+    static PdfGenerationRequest request(int imageCount, List<String> imageUrls) {
+        List<PdfGenerationRequest.SelectedImage> selectedImages = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            selectedImages.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId((long) (i % 5 + 1))
+                    .stageName("Stage Decoration " + (i % 5 + 1))
+                    .imageId((long) (i + 1))
+                    .imageName("Decoration " + (i + 1))
+                    .imageUrl(imageUrls.get(i % imageUrls.size()))
+                    .description("Elegant floral arrangement with marigold and rose garlands, number " + (i + 1))
+                    .build());
+        }
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName("Wedding")
+                .selectedImages(selectedImages)
+                .build();
+    }
+
+    /**
+     * A wedding with {@code imageCount} decoration images spread over types of six, linked both
+     * ways as Hibernate would load them.
+     */
+    static Event catalog(int imageCount, List<String> imageUrls) {
+        Event event = Event.builder()
+                .id(1L)
+                .name("Wedding")
+                .description("Traditional wedding ceremony and reception")
+                .isActive(true)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .decorationTypes(new ArrayList<>())
+                .build();
+        for (int i = 0; i < imageCount; i++) {
+            if (i % IMAGES_PER_TYPE == 0) {
+                long typeId = i / IMAGES_PER_TYPE + 1;
+                event.getDecorationTypes().add(DecorationType.builder()
+                        .id(typeId)
+                        .name("Stage Decoration " + typeId)
+                        .description("Decorations for stage " + typeId + " of the ceremony")
+                        .isActive(true)
+                        .displayOrder((int) typeId)
+                        .event(event)
+                        .createdAt(CREATED_AT)
+                        .updatedAt(CREATED_AT)
+                        .images(new ArrayList<>())
+                        .build());
+            }
+            DecorationType type = event.getDecorationTypes().get(event.getDecorationTypes().size() - 1);
+            type.getImages().add(DecorationImage.builder()
+                    .id((long) (i + 1))
+                    .name("Decoration " + (i + 1))
+                    .imageUrl(imageUrls.get(i % imageUrls.size()))
+                    .description("Elegant floral arrangement with marigold and rose garlands, number " + (i + 1))
+                    .isActive(true)
+                    .displayOrder(i % IMAGES_PER_TYPE + 1)
+                    .decorationType(type)
+                    .createdAt(CREATED_AT)
+                    .updatedAt(CREATED_AT)
+                    .build());
+        }
+        return event;
+    }
+
+    static List<DecorationImage> images(Event event) {
+        return event.getDecorationTypes().stream().flatMap(type -> type.getImages().stream()).toList();
+    }
+
+    /**
+     * A repository over the catalog that answers the one query the decoration image catalog
+     * makes, so services can be benchmarked without a database.
+     */
+    static DecorationImageRepository repository(Event event) {
+        Map<Long, DecorationImage> byId = images(event).stream()
+                .collect(Collectors.toMap(DecorationImage::getId, Function.identity()));
+        return (DecorationImageRepository) Proxy.newProxyInstance(
+                DecorationImageRepository.class.getClassLoader(),
+                new Class<?>[]{DecorationImageRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findWithTypeAndEventByIdIn")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return ((Collection<?>) args[0]).stream().map(byId::get).filter(Objects::nonNull).toList();
+                });
+    }
+
+    static Path createTempDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("pdf-benchmark");
+        directory.toFile().deleteOnExit();
+        return directory;
+    }
+}
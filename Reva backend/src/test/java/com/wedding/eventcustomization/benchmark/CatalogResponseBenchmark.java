@@ -0,0 +1,77 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.wedding.eventcustomization.dto.ApiResponse;
+import com.wedding.eventcustomization.dto.DecorationImageDto;
+import com.wedding.eventcustomization.dto.DecorationTypeDto;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.DecorationType;
+import com.wedding.eventcustomization.mapper.DecorationImageMapper;
+import com.wedding.eventcustomization.mapper.DecorationTypeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of the catalog endpoints: mapping loaded entities to DTOs and writing the
+ * {@code ApiResponse} body, from one event's worth of images up to the full image listing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogResponseBenchmark {
+
+    @Param({"24", "240", "2400"})
+    private int imageCount;
+
+    private List<DecorationType> decorationTypes;
+    private List<DecorationImage> decorationImages;
+    private ApiResponse<List<DecorationImageDto>> imagesResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        var event = BenchmarkFixtures.catalog(imageCount, List.of("https://images.unsplash.com/photo-1519741497674-611481863552"));
+        decorationTypes = event.getDecorationTypes();
+        decorationImages = BenchmarkFixtures.images(event);
+        imagesResponse = ApiResponse.success(DecorationImageMapper.toDtoList(decorationImages));
+        // As configured under spring.jackson in application.yml
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .timeZone(TimeZone.getTimeZone("UTC"))
+                .build();
+    }
+
+    @Benchmark
+    public List<DecorationTypeDto> decorationTypeToDtoList() {
+        return DecorationTypeMapper.toDtoList(decorationTypes);
+    }
+
+    @Benchmark
+    public List<DecorationImageDto> decorationImageToDtoList() {
+        return DecorationImageMapper.toDtoList(decorationImages);
+    }
+
+    @Benchmark
+    public byte[] serializeImagesResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(imagesResponse);
+    }
+}
@@ -0,0 +1,112 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.Event;
+import com.wedding.eventcustomization.pdf.BrochureTemplate;
+import com.wedding.eventcustomization.pdf.FragmentPdfRenderer;
+import com.wedding.eventcustomization.pdf.HtmlPdfRenderer;
+import com.wedding.eventcustomization.pdf.LayoutPdfRenderer;
+import com.wedding.eventcustomization.pdf.PdfDocumentCache;
+import com.wedding.eventcustomization.pdf.PdfFragmentCache;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import com.wedding.eventcustomization.pdf.PdfRenderBulkhead;
+import com.wedding.eventcustomization.pdf.PdfRenderPool;
+import com.wedding.eventcustomization.pdf.PdfRenderingResources;
+import com.wedding.eventcustomization.pdf.PdfSpool;
+import com.wedding.eventcustomization.pdf.PdfStageMetrics;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
+import com.wedding.eventcustomization.pdf.SectionedPdfRenderer;
+import com.wedding.eventcustomization.service.DecorationImageCatalog;
+import com.wedding.eventcustomization.service.PdfGenerationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PdfGenerationService} as the controller calls it, for a compact request of event and
+ * image ids resolved through the catalog: building the brochure HTML, and the whole
+ * fingerprint, render and spool path with the document cache off so every call renders.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGenerationBenchmark {
+
+    @Param({"4", "24"})
+    private int imageCount;
+
+    private PdfGenerationRequest request;
+    private PdfRenderPool renderPool;
+    private PdfGenerationService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        Event event = BenchmarkFixtures.catalog(imageCount, BenchmarkFixtures.writeImages(BenchmarkFixtures.createTempDirectory()));
+        request = PdfGenerationRequest.builder()
+                .eventId(event.getId())
+                .imageIds(BenchmarkFixtures.images(event).stream().map(DecorationImage::getId).toList())
+                .build();
+
+        PdfProperties properties = new PdfProperties();
+        properties.getCache().setEnabled(false);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PdfRenderingResources resources = new PdfRenderingResources(properties);
+        PdfStageMetrics stageMetrics = new PdfStageMetrics(meterRegistry);
+        PdfImageFetcher imageFetcher = new PdfImageFetcher(properties, meterRegistry);
+        BrochureTemplate template = new BrochureTemplate();
+        LayoutPdfRenderer layoutRenderer = new LayoutPdfRenderer(resources, stageMetrics, imageFetcher);
+        renderPool = new PdfRenderPool(properties, meterRegistry);
+        PdfRenderBulkhead renderBulkhead = new PdfRenderBulkhead(properties, meterRegistry);
+        PdfSpool pdfSpool = new PdfSpool(properties);
+        service = new PdfGenerationService(
+                template,
+                List.of(new HtmlPdfRenderer(template, resources, stageMetrics, imageFetcher), layoutRenderer,
+                        new FragmentPdfRenderer(layoutRenderer, new PdfFragmentCache(properties), imageFetcher)),
+                new PdfDocumentCache(properties),
+                renderBulkhead,
+                renderPool,
+                new SectionedPdfRenderer(renderPool, renderBulkhead, pdfSpool, resources, properties),
+                pdfSpool,
+                stageMetrics,
+                imageFetcher,
+                new DecorationImageCatalog(BenchmarkFixtures.repository(event), properties),
+                properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderPool.shutdown();
+    }
+
+    @Benchmark
+    public String generateHtmlContent() {
+        return service.generateHtmlContent(request);
+    }
+
+    @Benchmark
+    public long generatePdf() throws IOException {
+        try (RenderedPdf pdf = service.generate(request, service.fingerprint(request))) {
+            return pdf.content().size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.pdf.BrochureTemplate;
+import com.wedding.eventcustomization.pdf.FragmentPdfRenderer;
+import com.wedding.eventcustomization.pdf.HtmlPdfRenderer;
+import com.wedding.eventcustomization.pdf.LayoutPdfRenderer;
+import com.wedding.eventcustomization.pdf.PdfFragmentCache;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import com.wedding.eventcustomization.pdf.PdfRenderingResources;
+import com.wedding.eventcustomization.pdf.PdfStageMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the html2pdf engine against the native iText layout engine for the same
+ * brochure, and of the layout assembled from warm fragment caches. Run with {@code -prof gc}
+ * to compare allocation per document.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfRendererBenchmark {
+
+    @Param({"4", "24"})
+    private int imageCount;
+
+    private PdfGenerationRequest request;
+    private HtmlPdfRenderer htmlRenderer;
+    private LayoutPdfRenderer layoutRenderer;
+    private FragmentPdfRenderer fragmentRenderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        request = BenchmarkFixtures.request(imageCount, BenchmarkFixtures.writeImages(BenchmarkFixtures.createTempDirectory()));
+        PdfRenderingResources resources = BenchmarkFixtures.renderingResources();
+        PdfStageMetrics stageMetrics = new PdfStageMetrics(new SimpleMeterRegistry());
+        PdfImageFetcher imageFetcher = new PdfImageFetcher(new PdfProperties(), new SimpleMeterRegistry());
+        htmlRenderer = new HtmlPdfRenderer(new BrochureTemplate(), resources, stageMetrics, imageFetcher);
+        layoutRenderer = new LayoutPdfRenderer(resources, stageMetrics, imageFetcher);
+        fragmentRenderer = new FragmentPdfRenderer(layoutRenderer, new PdfFragmentCache(new PdfProperties()), imageFetcher);
+        fragmentRenderer.render(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] html() throws IOException {
+        return htmlRenderer.render(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] layout() throws IOException {
+        return layoutRenderer.render(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] fragments() throws IOException {
+        return fragmentRenderer.render(request, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,93 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.pdf.BrochureTemplate;
+import com.wedding.eventcustomization.pdf.HtmlPdfRenderer;
+import com.wedding.eventcustomization.pdf.PdfImageFetcher;
+import com.wedding.eventcustomization.pdf.PdfRenderBulkhead;
+import com.wedding.eventcustomization.pdf.PdfRenderPool;
+import com.wedding.eventcustomization.pdf.PdfRenderingResources;
+import com.wedding.eventcustomization.pdf.PdfSpool;
+import com.wedding.eventcustomization.pdf.PdfStageMetrics;
+import com.wedding.eventcustomization.pdf.SectionedPdfRenderer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one large html2pdf brochure rendered whole against the same brochure rendered
+ * as parallel sections, for a range of render pool sizes. The speedup is bounded by the
+ * number of cores, so compare the {@code threads} rows against {@code nproc}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PdfSectionedRenderBenchmark {
+
+    @Param({"120"})
+    private int imageCount;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private PdfGenerationRequest request;
+    private HtmlPdfRenderer renderer;
+    private PdfRenderPool renderPool;
+    private PdfRenderBulkhead renderBulkhead;
+    private SectionedPdfRenderer sectionedRenderer;
+
+    @Setup
+    public void setUp() throws IOException {
+        request = BenchmarkFixtures.request(imageCount, BenchmarkFixtures.writeImages(BenchmarkFixtures.createTempDirectory()));
+        PdfRenderingResources resources = BenchmarkFixtures.renderingResources();
+        PdfProperties properties = new PdfProperties();
+        renderer = new HtmlPdfRenderer(new BrochureTemplate(), resources, new PdfStageMetrics(new SimpleMeterRegistry()),
+                new PdfImageFetcher(properties, new SimpleMeterRegistry()));
+        properties.getRenderPool().setThreads(threads);
+        properties.getSections().setThreshold(1);
+        // One slot for the calling thread, one for each pool thread
+        properties.getBulkhead().setMaxConcurrentRenders(threads + 1);
+        renderPool = new PdfRenderPool(properties, new SimpleMeterRegistry());
+        renderBulkhead = new PdfRenderBulkhead(properties, new SimpleMeterRegistry());
+        sectionedRenderer = new SectionedPdfRenderer(renderPool, renderBulkhead, new PdfSpool(properties), resources, properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderPool.shutdown();
+    }
+
+    @Benchmark
+    public byte[] whole() throws IOException {
+        return renderer.render(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] sectioned() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        renderBulkhead.execute(() -> {
+            sectionedRenderer.render(renderer, request, LocalDateTime.now(), outputStream);
+            return null;
+        });
+        return outputStream.toByteArray();
+    }
+}
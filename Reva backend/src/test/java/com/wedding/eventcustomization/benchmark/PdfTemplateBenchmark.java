@@ -0,0 +1,116 @@
+package com.wedding.eventcustomization.benchmark;
+
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.pdf.BrochureTemplate;
+import com.wedding.eventcustomization.pdf.PdfRenderingResources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-document cost of the original render path (string-built HTML, default converter
+ * properties and a freshly loaded font provider per call) against the compiled brochure
+ * template with shared rendering resources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfTemplateBenchmark {
+
+    @Param({"4", "24"})
+    private int imageCount;
+
+    private PdfGenerationRequest request;
+    private BrochureTemplate template;
+    private PdfRenderingResources resources;
+
+    @Setup
+    public void setUp() throws IOException {
+        request = BenchmarkFixtures.request(imageCount, BenchmarkFixtures.writeImages(BenchmarkFixtures.createTempDirectory()));
+        template = new BrochureTemplate();
+        resources = BenchmarkFixtures.renderingResources();
+    }
+
+    @Benchmark
+    public String legacyHtml() {
+        return legacyHtmlContent(request);
+    }
+
+    @Benchmark
+    public String templateHtml() {
+        return template.render(request, LocalDateTime.now());
+    }
+
+    @Benchmark
+    public byte[] legacyRender() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(legacyHtmlContent(request), outputStream);
+        return outputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] templateRender() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        HtmlConverter.convertToPdf(template.render(request, LocalDateTime.now()), outputStream, resources.newConverterProperties());
+        return outputStream.toByteArray();
+    }
+
+    private static String legacyHtmlContent(PdfGenerationRequest request) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset='UTF-8'>")
+            .append("<title>Wedding Customization - ").append(request.getEventName()).append("</title>")
+            .append("<style>")
+            .append("body { font-family: Arial, sans-serif; margin: 0; padding: 20px; background-color: #f9f9f9; }")
+            .append(".header { text-align: center; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: white; padding: 30px; border-radius: 10px; margin-bottom: 30px; }")
+            .append(".header h1 { margin: 0; font-size: 2.5em; }")
+            .append(".header p { margin: 10px 0 0 0; font-size: 1.2em; opacity: 0.9; }")
+            .append(".content { background: white; padding: 30px; border-radius: 10px; box-shadow: 0 4px 6px rgba(0,0,0,0.1); }")
+            .append(".section { margin-bottom: 40px; }")
+            .append(".section h2 { color: #333; border-bottom: 3px solid #667eea; padding-bottom: 10px; margin-bottom: 20px; }")
+            .append(".image-grid { display: grid; grid-template-columns: repeat(auto-fit, minmax(300px, 1fr)); gap: 20px; }")
+            .append(".image-item { text-align: center; padding: 20px; border: 2px solid #e0e0e0; border-radius: 10px; background: #fafafa; }")
+            .append(".image-item img { max-width: 100%; height: 200px; object-fit: cover; border-radius: 8px; margin-bottom: 15px; }")
+            .append(".image-item h3 { color: #667eea; margin: 10px 0; }")
+            .append(".image-item p { color: #666; font-size: 0.9em; line-height: 1.4; }")
+            .append(".footer { text-align: center; margin-top: 40px; padding: 20px; color: #666; border-top: 1px solid #e0e0e0; }")
+            .append(".generated-date { font-style: italic; }")
+            .append("</style></head><body>")
+            .append("<div class='header'><h1>🎉 ").append(request.getEventName()).append(" Customization</h1>")
+            .append("<p>Your Perfect Wedding Event Configuration</p></div>")
+            .append("<div class='content'><div class='section'><h2>📋 Selected Decorations</h2><div class='image-grid'>");
+        for (PdfGenerationRequest.SelectedImage image : request.getSelectedImages()) {
+            html.append("<div class='image-item'>")
+                .append("<img src='").append(image.getImageUrl()).append("' alt='").append(image.getImageName()).append("'>")
+                .append("<h3>").append(image.getStageName()).append("</h3>")
+                .append("<p><strong>").append(image.getImageName()).append("</strong></p>");
+            if (image.getDescription() != null && !image.getDescription().trim().isEmpty()) {
+                html.append("<p>").append(image.getDescription()).append("</p>");
+            }
+            html.append("</div>");
+        }
+        html.append("</div></div></div>")
+            .append("<div class='footer'><p>Generated on: <span class='generated-date'>")
+            .append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' h:mm a")))
+            .append("</span></p><p>Thank you for choosing our wedding customization service! 💕</p></div>")
+            .append("</body></html>");
+        return html.toString();
+    }
+}
@@ -0,0 +1,63 @@
+package com.wedding.eventcustomization.concurrency;
+
+import com.wedding.eventcustomization.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private final ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+
+    @Test
+    void rejectsRequestsOverTheLimitWithoutWaiting() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitProperties.Limit(2, 1, 10), properties);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.onIgnored();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksOnceItClimbs() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitProperties.Limit(20, 5, 100), properties);
+
+        runFullyLoaded(limit, 10, TimeUnit.MILLISECONDS.toNanos(10));
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        runFullyLoaded(limit, 10, TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limit.getLimit()).isLessThan(20);
+    }
+
+    @Test
+    void backsOffOnServerErrors() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(new ConcurrencyLimitProperties.Limit(20, 5, 100), properties);
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.onDropped();
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(6);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    /** Keeps every slot taken while completing the given number of samples. */
+    private void runFullyLoaded(AdaptiveConcurrencyLimit limit, int samples, long rttNanos) {
+        for (int i = 0; i < samples * properties.getSampleSize(); i++) {
+            while (limit.tryAcquire()) {
+                // fill up
+            }
+            limit.onSuccess(rttNanos);
+        }
+        while (limit.getInFlight() > 0) {
+            limit.onIgnored();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wedding.eventcustomization.concurrency;
+
+import com.wedding.eventcustomization.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsOnlyTheGroupAtItsLimit() throws Exception {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.getPdf().setInitialLimit(1);
+        properties.getPdf().setMinLimit(1);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+        filter.getLimit(ConcurrencyLimitFilter.Group.PDF).tryAcquire();
+
+        MockHttpServletResponse pdf = serve(filter, "POST", "/api/v1/pdf/generate");
+        MockHttpServletResponse read = serve(filter, "GET", "/api/v1/events");
+
+        assertThat(pdf.getStatus()).isEqualTo(503);
+        assertThat(pdf.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(pdf.getContentAsString()).contains("SERVICE_OVERLOADED");
+        assertThat(read.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("http.server.requests.concurrency.rejected").tag("group", "pdf").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.concurrency.in.flight").tag("group", "reads").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void bulkheadRejectionsDoNotCutTheLimit() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(),
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+        AdaptiveConcurrencyLimit limit = filter.getLimit(ConcurrencyLimitFilter.Group.PDF);
+        int initialLimit = limit.getLimit();
+
+        serve(filter, new MockHttpServletRequest("POST", "/api/v1/pdf/generate"), (request, response) -> {
+            ConcurrencyLimitFilter.markShed(request);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        });
+        assertThat(limit.getLimit()).isEqualTo(initialLimit);
+        assertThat(limit.getInFlight()).isZero();
+
+        serve(filter, new MockHttpServletRequest("POST", "/api/v1/pdf/generate"),
+                (request, response) -> response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR));
+        assertThat(limit.getLimit()).isLessThan(initialLimit);
+    }
+
+    @Test
+    void streamedResponseHoldsItsSlotUntilTheBodyIsWritten() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(),
+                Jackson2ObjectMapperBuilder.json().build(), meterRegistry);
+        AdaptiveConcurrencyLimit limit = filter.getLimit(ConcurrencyLimitFilter.Group.PDF);
+        MockHttpServletRequest streamed = new MockHttpServletRequest("POST", "/api/v1/pdf/generate");
+        streamed.setAsyncSupported(true);
+
+        serve(filter, streamed, (request, response) -> request.startAsync());
+        assertThat(limit.getInFlight()).isEqualTo(1);
+
+        streamed.getAsyncContext().complete();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    private static MockHttpServletResponse serve(ConcurrencyLimitFilter filter, String method, String uri) throws Exception {
+        return serve(filter, new MockHttpServletRequest(method, uri), (request, response) -> {
+        });
+    }
+
+    private static MockHttpServletResponse serve(ConcurrencyLimitFilter filter, MockHttpServletRequest request,
+                                                 Handler handler) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                handler.handle(request, response);
+            }
+        }, filter).doFilter(request, response);
+        return response;
+    }
+
+    private interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response);
+    }
+}
@@ -0,0 +1,62 @@
+package com.wedding.eventcustomization.config;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint();
+
+    @TempDir
+    Path downloadDirectory;
+
+    @AfterEach
+    void discardRecording() {
+        endpoint.discard();
+    }
+
+    @Test
+    void dumpIsStreamedFromDiskAndDeletedOnceRead() throws Exception {
+        assertThat(endpoint.dump()).isNull();
+        endpoint.start(5, "default");
+
+        Resource dump = endpoint.dump();
+        Path file = dump.getFile().toPath();
+        long size = dump.contentLength();
+        assertThat(size).isPositive();
+        Path download = downloadDirectory.resolve("download.jfr");
+        try (InputStream inputStream = dump.getInputStream()) {
+            Files.copy(inputStream, download);
+        }
+
+        assertThat(file).doesNotExist();
+        assertThat(Files.size(download)).isEqualTo(size);
+    }
+
+    @Test
+    void recordingLeavesOutEnvironmentAndSystemProperties() throws Exception {
+        endpoint.start(5, "profile");
+
+        Path download = downloadDirectory.resolve("download.jfr");
+        try (InputStream inputStream = endpoint.dump().getInputStream()) {
+            Files.copy(inputStream, download);
+        }
+
+        List<String> eventTypes = RecordingFile.readAllEvents(download).stream()
+                .map(event -> event.getEventType().getName())
+                .distinct()
+                .toList();
+        assertThat(eventTypes).isNotEmpty()
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+    }
+}
@@ -0,0 +1,36 @@
+package com.wedding.eventcustomization.config;
+
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.entity.Event;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeImageHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeImageHintsTest() {
+        new NativeImageHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entitiesAreReflectivelyAccessible() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Event.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(DecorationImage.class.getMethod("setDisplayOrder", Integer.class)))
+                .accepts(hints);
+    }
+
+    @Test
+    void pdfResourcesAreIncluded() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("com/itextpdf/io/font/afm/Helvetica.afm")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("com/itextpdf/html2pdf/font/NotoSans-Regular.ttf")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("com/itextpdf/html2pdf/default.css")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/pdf/brochure.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("seed/catalog.json")).accepts(hints);
+    }
+}
@@ -0,0 +1,147 @@
+package com.wedding.eventcustomization.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-model load against the HTTP API: requests start on a fixed schedule at the target
+ * rate whether or not earlier ones have returned, as independent users would send them, so a
+ * slowdown shows up as latency and queueing instead of quietly lowering the offered load.
+ * <p>
+ * Each request is drawn from a mix of catalog reads weighted towards browsing one event's
+ * decorations, plus {@code pdf-share} brochure generations for images of one decoration type.
+ */
+@Slf4j
+class LoadGenerator {
+
+    private final URI baseUri;
+    private final SyntheticCatalog catalog;
+    private final LoadTestProperties.Load settings;
+    private final Random random;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadGenerator(URI baseUri, SyntheticCatalog catalog, LoadTestProperties.Load settings) {
+        this.baseUri = baseUri;
+        this.catalog = catalog;
+        this.settings = settings;
+        this.random = new Random(settings.getSeed());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    LoadReport run() throws InterruptedException {
+        LoadReport warmupReport = new LoadReport();
+        LoadReport report = new LoadReport();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.getRps());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        log.info("Offering {} requests per second to {}: {} warm-up, then {} measured",
+                settings.getRps(), baseUri, settings.getWarmup(), settings.getDuration());
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due - end >= 0) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Request request = nextRequest();
+            LoadReport target = due - measureFrom >= 0 ? report : warmupReport;
+            if (inFlight.incrementAndGet() > settings.getMaxInFlight()) {
+                inFlight.decrementAndGet();
+                target.failure(request.scenario(), System.nanoTime() - due, "dropped");
+                continue;
+            }
+            send(request, due, target);
+        }
+        awaitInFlight();
+        report.setElapsed(Duration.ofNanos(end - measureFrom));
+        executor.shutdownNow();
+        return report;
+    }
+
+    private void send(Request request, long due, LoadReport report) {
+        client.sendAsync(request.http(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - due;
+            inFlight.decrementAndGet();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                report.failure(request.scenario(), latency, cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName());
+            } else if (response.statusCode() >= 400) {
+                report.failure(request.scenario(), latency, "HTTP " + response.statusCode());
+            } else {
+                report.success(request.scenario(), latency);
+            }
+        });
+    }
+
+    private Request nextRequest() {
+        double draw = random.nextDouble();
+        if (draw < settings.getPdfShare()) {
+            int type = catalog.randomType(random);
+            long[] images = catalog.imagesOf(type, settings.getImagesPerPdf(), random);
+            if (images.length > 0) {
+                String body = "{\"eventId\":" + catalog.eventOf(type) + ",\"imageIds\":"
+                        + Arrays.stream(images).mapToObj(Long::toString).collect(Collectors.joining(",", "[", "]")) + "}";
+                return new Request("POST /pdf/generate", request("/api/v1/pdf/generate")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+            }
+        }
+        // The catalog reads share the rest of the traffic
+        double read = random.nextDouble();
+        if (read < 0.02) {
+            return get("GET /events", "/api/v1/events");
+        } else if (read < 0.17) {
+            return get("GET /events/{id}", "/api/v1/events/" + catalog.randomEvent(random));
+        } else if (read < 0.42) {
+            return get("GET /decoration-types/event/{eventId}", "/api/v1/decoration-types/event/" + catalog.randomEvent(random));
+        } else if (read < 0.84) {
+            return get("GET /decoration-images/decoration-type/{id}",
+                    "/api/v1/decoration-images/decoration-type/" + catalog.typeId(catalog.randomType(random)));
+        }
+        return get("GET /decoration-images/{id}", "/api/v1/decoration-images/" + catalog.randomImage(random));
+    }
+
+    private Request get(String scenario, String path) {
+        return new Request(scenario, request(path).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(settings.getRequestTimeout());
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + settings.getRequestTimeout().toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(50);
+        }
+    }
+
+    private record Request(String scenario, HttpRequest http) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.wedding.eventcustomization.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies and failures per scenario of a load test run. Latency is measured from when a
+ * request was due to be sent, so time spent queued behind a slow server counts.
+ */
+class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Scenario> scenarios = new ConcurrentHashMap<>();
+    private volatile Duration elapsed = Duration.ZERO;
+
+    void success(String scenario, long latencyNanos) {
+        scenario(scenario).record(latencyNanos, null);
+    }
+
+    void failure(String scenario, long latencyNanos, String reason) {
+        scenario(scenario).record(latencyNanos, reason);
+    }
+
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    long requests() {
+        return scenarios.values().stream().mapToLong(Scenario::count).sum();
+    }
+
+    long errors() {
+        return scenarios.values().stream().mapToLong(Scenario::errorCount).sum();
+    }
+
+    double errorRate() {
+        long requests = requests();
+        return requests == 0 ? 0 : (double) errors() / requests;
+    }
+
+    String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-44s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "error%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        new TreeMap<>(scenarios).forEach((name, scenario) -> out.append(scenario.format(name)));
+        Scenario all = new Scenario();
+        scenarios.values().forEach(all::addAll);
+        out.append(all.format("all"));
+        out.append(String.format(Locale.ROOT, "%d requests in %.1f s, %.1f per second, error rate %.3f%%%n",
+                requests(), elapsed.toMillis() / 1000.0, requests() / Math.max(elapsed.toMillis() / 1000.0, 0.001), errorRate() * 100));
+        Map<String, Long> reasons = new TreeMap<>();
+        scenarios.values().forEach(scenario -> scenario.errors.forEach((reason, count) -> reasons.merge(reason, count, Long::sum)));
+        if (!reasons.isEmpty()) {
+            out.append("errors by cause: ").append(reasons).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private Scenario scenario(String name) {
+        return scenarios.computeIfAbsent(name, key -> new Scenario());
+    }
+
+    private static final class Scenario {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, String error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (error != null) {
+                errors.merge(error, 1L, Long::sum);
+            }
+        }
+
+        synchronized void addAll(Scenario other) {
+            synchronized (other) {
+                for (int i = 0; i < other.count; i++) {
+                    record(other.latencies[i], null);
+                }
+                other.errors.forEach((reason, n) -> errors.merge(reason, n, Long::sum));
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        synchronized String format(String name) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%-44s %8d %8d %7.2f",
+                    name, count, errorCount(), count == 0 ? 0 : errorCount() * 100.0 / count));
+            for (double percentile : PERCENTILES) {
+                line.append(String.format(Locale.ROOT, " %9.1f", millis(percentile(sorted, percentile))));
+            }
+            line.append(String.format(Locale.ROOT, " %9.1f%n", millis(count == 0 ? 0 : sorted[count - 1])));
+            return line.toString();
+        }
+
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
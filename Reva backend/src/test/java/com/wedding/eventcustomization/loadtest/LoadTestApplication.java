@@ -0,0 +1,49 @@
+package com.wedding.eventcustomization.loadtest;
+
+import com.wedding.eventcustomization.EventCustomizationApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application with the {@code loadtest} profile, seeds the synthetic catalog and
+ * drives the HTTP API at the configured rate, then prints latency percentiles and error rates.
+ * Exits with 1 when the error rate exceeds {@code app.loadtest.load.max-error-rate}.
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--app.loadtest.load.rps=500"
+ * </pre>
+ * Any application property can be passed the same way, e.g. a MySQL {@code spring.datasource.url}.
+ */
+@Slf4j
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int exitCode;
+        // As an argument, so it replaces the dev profile that application.yml activates
+        String[] arguments = Stream.concat(Stream.of("--spring.profiles.active=loadtest"), Arrays.stream(args)).toArray(String[]::new);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EventCustomizationApplication.class).run(arguments)) {
+            LoadTestProperties properties = context.getBean(LoadTestProperties.class);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port),
+                    context.getBean(LoadTestConfig.class).catalog(), properties.getLoad());
+
+            LoadReport report = generator.run();
+            System.out.println();
+            System.out.print(report.format());
+            boolean passed = report.errorRate() <= properties.getLoad().getMaxErrorRate();
+            if (!passed) {
+                log.error("Error rate {} exceeds the allowed {}", report.errorRate(), properties.getLoad().getMaxErrorRate());
+            }
+            exitCode = passed ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,61 @@
+package com.wedding.eventcustomization.loadtest;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test additions to the application: the synthetic catalog, seeded before
+ * {@code NewDataInitializer} so that one finds data and stays out, and the decoration photos
+ * it refers to, served by the application itself so PDF generation never leaves the machine.
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+    private final Path imageDirectory;
+    private volatile SyntheticCatalog catalog;
+
+    public LoadTestConfig() throws IOException {
+        this.imageDirectory = Files.createTempDirectory("loadtest-images");
+        this.imageDirectory.toFile().deleteOnExit();
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner syntheticCatalogSeeder(JdbcTemplate jdbcTemplate, LoadTestProperties properties,
+                                                    Environment environment) {
+        return args -> catalog = new SyntheticCatalogSeeder(jdbcTemplate, properties.getCatalog(), imageDirectory, environment).seed();
+    }
+
+    @Bean
+    public WebMvcConfigurer loadTestImages() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addResourceHandlers(ResourceHandlerRegistry registry) {
+                registry.addResourceHandler(SyntheticCatalogSeeder.IMAGE_PATH + "**")
+                        .addResourceLocations(imageDirectory.toUri().toString())
+                        .setCacheControl(CacheControl.maxAge(1, TimeUnit.DAYS));
+            }
+        };
+    }
+
+    SyntheticCatalog catalog() {
+        return catalog;
+    }
+}
@@ -0,0 +1,44 @@
+package com.wedding.eventcustomization.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.loadtest")
+public class LoadTestProperties {
+
+    private final Catalog catalog = new Catalog();
+    private final Load load = new Load();
+
+    @Data
+    public static class Catalog {
+        /** Skipped when the database already has events, so a seeded MySQL schema can be reused. */
+        private int events = 100;
+        private int typesPerEvent = 50;
+        private int imagesPerType = 20;
+        /** Distinct pictures behind the image URLs, served by the application under test. */
+        private int distinctImages = 16;
+        /** Prefix of the seeded image URLs; defaults to this application's own port. */
+        private String imageBaseUrl;
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class Load {
+        /** Requests started per second, regardless of how fast earlier ones complete. */
+        private int rps = 200;
+        private Duration warmup = Duration.ofSeconds(15);
+        private Duration duration = Duration.ofSeconds(60);
+        /** Share of requests that generate a PDF, the rest read the catalog. */
+        private double pdfShare = 0.02;
+        private int imagesPerPdf = 6;
+        /** Requests that would exceed this many outstanding are counted as dropped. */
+        private int maxInFlight = 512;
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        /** The run fails when more requests than this share return errors. */
+        private double maxErrorRate = 0.01;
+        private long seed = 42;
+    }
+}
@@ -0,0 +1,53 @@
+package com.wedding.eventcustomization.loadtest;
+
+import java.util.Random;
+
+/**
+ * Ids of the catalog under test, grouped so the load generator can pick consistent requests:
+ * a decoration type of an event, or images of one type for a PDF.
+ *
+ * @param typeEventIndex   index into {@code eventIds} of each decoration type
+ * @param typeImageOffsets images of type {@code t} are {@code imageIds[typeImageOffsets[t]]}
+ *                         up to {@code imageIds[typeImageOffsets[t + 1]]}
+ */
+record SyntheticCatalog(long[] eventIds, long[] typeIds, int[] typeEventIndex, long[] imageIds, int[] typeImageOffsets) {
+
+    long randomEvent(Random random) {
+        return eventIds[random.nextInt(eventIds.length)];
+    }
+
+    int randomType(Random random) {
+        return random.nextInt(typeIds.length);
+    }
+
+    long typeId(int type) {
+        return typeIds[type];
+    }
+
+    long eventOf(int type) {
+        return eventIds[typeEventIndex[type]];
+    }
+
+    long randomImage(Random random) {
+        return imageIds[random.nextInt(imageIds.length)];
+    }
+
+    /**
+     * Up to {@code count} consecutive images of the type, starting at a random one.
+     */
+    long[] imagesOf(int type, int count, Random random) {
+        int from = typeImageOffsets[type];
+        int size = typeImageOffsets[type + 1] - from;
+        long[] images = new long[Math.min(count, size)];
+        int start = size > 0 ? random.nextInt(size) : 0;
+        for (int i = 0; i < images.length; i++) {
+            images[i] = imageIds[from + (start + i) % size];
+        }
+        return images;
+    }
+
+    @Override
+    public String toString() {
+        return eventIds.length + " events, " + typeIds.length + " decoration types, " + imageIds.length + " images";
+    }
+}
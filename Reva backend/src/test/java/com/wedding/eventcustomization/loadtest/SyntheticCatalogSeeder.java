@@ -0,0 +1,182 @@
+package com.wedding.eventcustomization.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills the schema with a synthetic catalog through plain JDBC batches, fast enough for a
+ * million images, and reads back the ids the load generator draws its requests from.
+ */
+@Slf4j
+class SyntheticCatalogSeeder {
+
+    static final String IMAGE_PATH = "/loadtest-images/";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestProperties.Catalog settings;
+    private final Path imageDirectory;
+    private final Environment environment;
+
+    SyntheticCatalogSeeder(JdbcTemplate jdbcTemplate, LoadTestProperties.Catalog settings, Path imageDirectory,
+                           Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.settings = settings;
+        this.imageDirectory = imageDirectory;
+        this.environment = environment;
+    }
+
+    SyntheticCatalog seed() throws IOException {
+        writeImages();
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class);
+        if (existing != null && existing > 0) {
+            log.info("Database already has {} events, using the existing catalog", existing);
+        } else {
+            long start = System.nanoTime();
+            insertCatalog();
+            log.info("Seeded the synthetic catalog in {} ms", (System.nanoTime() - start) / 1_000_000);
+        }
+        SyntheticCatalog catalog = load();
+        log.info("Load test catalog: {}", catalog);
+        return catalog;
+    }
+
+    private void insertCatalog() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> events = new ArrayList<>(settings.getEvents());
+        for (int e = 0; e < settings.getEvents(); e++) {
+            events.add(new Object[]{"Event " + (e + 1), "Synthetic event number " + (e + 1), true, now, now});
+        }
+        batchInsert("INSERT INTO events (name, description, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?)", events);
+
+        List<Object[]> types = new ArrayList<>();
+        for (long eventId : jdbcTemplate.queryForList("SELECT id FROM events ORDER BY id", Long.class)) {
+            for (int t = 0; t < settings.getTypesPerEvent(); t++) {
+                types.add(new Object[]{"Decoration " + (t + 1), "Stage decoration " + (t + 1) + " of event " + eventId,
+                        true, t + 1, eventId, now, now});
+            }
+            types = flushIfFull("INSERT INTO decoration_types (name, description, is_active, display_order, event_id, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)", types);
+        }
+        batchInsert("INSERT INTO decoration_types (name, description, is_active, display_order, event_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", types);
+        log.info("Inserted {} events and their decoration types", settings.getEvents());
+
+        String imageSql = "INSERT INTO decoration_images (name, image_url, description, is_active, display_order, "
+                + "decoration_type_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String baseUrl = imageBaseUrl();
+        List<Object[]> images = new ArrayList<>();
+        long inserted = 0;
+        for (long typeId : jdbcTemplate.queryForList("SELECT id FROM decoration_types ORDER BY id", Long.class)) {
+            for (int i = 0; i < settings.getImagesPerType(); i++) {
+                long picture = (inserted + i) % settings.getDistinctImages();
+                // The query makes every image URL distinct, as real uploads are
+                images.add(new Object[]{"Decoration image " + (i + 1), baseUrl + "decoration-" + picture + ".jpg?type=" + typeId + "&n=" + i,
+                        "Floral arrangement " + (i + 1) + " with marigold and rose garlands", true, i + 1, typeId, now, now});
+            }
+            inserted += settings.getImagesPerType();
+            images = flushIfFull(imageSql, images);
+            if (inserted % 100_000 < settings.getImagesPerType()) {
+                log.info("Inserted {} decoration images", inserted);
+            }
+        }
+        batchInsert(imageSql, images);
+    }
+
+    private SyntheticCatalog load() {
+        long[] eventIds = jdbcTemplate.queryForList("SELECT id FROM events WHERE is_active = TRUE ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        Map<Long, Integer> eventIndex = indexOf(eventIds);
+
+        List<long[]> typeRows = jdbcTemplate.query(
+                "SELECT id, event_id FROM decoration_types WHERE is_active = TRUE ORDER BY id",
+                (rs, row) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        typeRows.removeIf(row -> !eventIndex.containsKey(row[1]));
+        long[] typeIds = typeRows.stream().mapToLong(row -> row[0]).toArray();
+        int[] typeEventIndex = typeRows.stream().mapToInt(row -> eventIndex.get(row[1])).toArray();
+        Map<Long, Integer> typeIndex = indexOf(typeIds);
+
+        // Ordered by type so each type's images are contiguous
+        int[] typeImageCounts = new int[typeIds.length];
+        long[][] images = {new long[1024]};
+        int[] imageCount = {0};
+        jdbcTemplate.query("SELECT id, decoration_type_id FROM decoration_images WHERE is_active = TRUE "
+                + "ORDER BY decoration_type_id, id", rs -> {
+            Integer type = typeIndex.get(rs.getLong(2));
+            if (type == null) {
+                return;
+            }
+            if (imageCount[0] == images[0].length) {
+                images[0] = Arrays.copyOf(images[0], images[0].length * 2);
+            }
+            images[0][imageCount[0]++] = rs.getLong(1);
+            typeImageCounts[type]++;
+        });
+        // Types are indexed in id order, matching the image order above
+        int[] typeImageOffsets = new int[typeIds.length + 1];
+        for (int t = 0; t < typeIds.length; t++) {
+            typeImageOffsets[t + 1] = typeImageOffsets[t] + typeImageCounts[t];
+        }
+        return new SyntheticCatalog(eventIds, typeIds, typeEventIndex, Arrays.copyOf(images[0], imageCount[0]), typeImageOffsets);
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() < settings.getBatchSize()) {
+            return rows;
+        }
+        batchInsert(sql, rows);
+        return new ArrayList<>();
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += settings.getBatchSize()) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + settings.getBatchSize())));
+        }
+    }
+
+    private String imageBaseUrl() {
+        if (settings.getImageBaseUrl() != null && !settings.getImageBaseUrl().isBlank()) {
+            String base = settings.getImageBaseUrl();
+            return base.endsWith("/") ? base : base + "/";
+        }
+        return "http://localhost:" + environment.getRequiredProperty("local.server.port") + IMAGE_PATH;
+    }
+
+    private void writeImages() throws IOException {
+        for (int i = 0; i < settings.getDistinctImages(); i++) {
+            BufferedImage image = new BufferedImage(800, 500, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            graphics.setPaint(new GradientPaint(0, 0, Color.getHSBColor(i / (float) settings.getDistinctImages(), 0.5f, 0.9f),
+                    800, 500, new Color(0x764ba2)));
+            graphics.fillRect(0, 0, 800, 500);
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 48));
+            graphics.drawString("Decoration " + i, 60, 270);
+            graphics.dispose();
+            ImageIO.write(image, "jpg", imageDirectory.resolve("decoration-" + i + ".jpg").toFile());
+        }
+    }
+
+    private static Map<Long, Integer> indexOf(long[] ids) {
+        Map<Long, Integer> index = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            index.put(ids[i], i);
+        }
+        return index;
+    }
+}
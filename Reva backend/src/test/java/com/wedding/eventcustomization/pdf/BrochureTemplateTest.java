@@ -0,0 +1,89 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrochureTemplateTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final BrochureTemplate template = new BrochureTemplate();
+
+    @Test
+    void wholeBrochureFillsEveryPlaceholder() {
+        PdfGenerationRequest.SelectedImage mandap = image(1L, "Rose Mandap", "https://example.com/mandap.jpg");
+        mandap.setDescription("Fresh roses");
+        PdfGenerationRequest request = request("Wedding", List.of(mandap,
+                image(2L, "Marigold Gate", "https://example.com/gate.jpg")));
+
+        String html = template.render(request, GENERATED_AT);
+
+        assertThat(html).doesNotContain("{{", "}}")
+                .startsWith("<!DOCTYPE html>")
+                .contains("<title>Wedding Customization - Wedding</title>")
+                .contains("<style>" + template.getStylesheet() + "</style>")
+                .contains("<h1>🎉 Wedding Customization</h1>")
+                .contains("<h2>📋 " + BrochureSection.DEFAULT_TITLE + "</h2>")
+                .contains("<img src='https://example.com/mandap.jpg' alt='Rose Mandap'>")
+                .contains("<p><strong>Marigold Gate</strong></p>")
+                .contains("<p>Fresh roses</p>")
+                .contains("<span class='generated-date'>January 01, 2024 at 12:00 PM</span>");
+        assertThat(html.split("class='image-item'", -1)).hasSize(3);
+    }
+
+    @Test
+    void eventAndImageTextIsEscaped() {
+        PdfGenerationRequest.SelectedImage image = image(1L, "<b>Gate</b> & 'Arch'", "https://example.com/a.jpg?x=1&y='2'");
+        image.setStageName("Entrance <script>");
+        image.setDescription("\"Quoted\" <i>text</i>");
+        PdfGenerationRequest request = request("Priya & Arjun's <Wedding>", List.of(image));
+
+        String html = template.render(request, GENERATED_AT);
+
+        assertThat(html)
+                .contains("<title>Wedding Customization - Priya &amp; Arjun&#39;s &lt;Wedding&gt;</title>")
+                .contains("<h1>🎉 Priya &amp; Arjun&#39;s &lt;Wedding&gt; Customization</h1>")
+                .contains("<img src='https://example.com/a.jpg?x=1&amp;y=&#39;2&#39;' alt='&lt;b&gt;Gate&lt;/b&gt; &amp; &#39;Arch&#39;'>")
+                .contains("<h3>Entrance &lt;script&gt;</h3>")
+                .contains("<p>&quot;Quoted&quot; &lt;i&gt;text&lt;/i&gt;</p>")
+                .doesNotContain("<script>", "<b>Gate", "<i>text");
+    }
+
+    @Test
+    void onlyTheFirstSectionHasTheHeaderAndOnlyTheLastTheFooter() {
+        PdfGenerationRequest request = request("Wedding", List.of(image(1L, "Rose Mandap", "https://example.com/mandap.jpg")));
+
+        String first = template.render(request, new BrochureSection("Mandap & Stage", request.getSelectedImages(), true, false),
+                GENERATED_AT);
+        String last = template.render(request, new BrochureSection("Entrance", request.getSelectedImages(), false, true),
+                GENERATED_AT);
+
+        assertThat(first).doesNotContain("{{").contains("<h2>📋 Mandap &amp; Stage</h2>")
+                .contains("class='header'").doesNotContain("class='footer'");
+        assertThat(last).doesNotContain("{{").contains("<h2>📋 Entrance</h2>")
+                .contains("class='footer'").doesNotContain("class='header'");
+    }
+
+    private static PdfGenerationRequest.SelectedImage image(Long imageId, String imageName, String imageUrl) {
+        return PdfGenerationRequest.SelectedImage.builder()
+                .stageId(1L)
+                .stageName("Mandap")
+                .imageId(imageId)
+                .imageName(imageName)
+                .imageUrl(imageUrl)
+                .build();
+    }
+
+    private static PdfGenerationRequest request(String eventName, List<PdfGenerationRequest.SelectedImage> images) {
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName(eventName)
+                .selectedImages(images)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactPdfOutputTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private static final PdfStageMetrics STAGE_METRICS = new PdfStageMetrics(new SimpleMeterRegistry());
+    private static final PdfImageFetcher IMAGE_FETCHER = new PdfImageFetcher(new PdfProperties(), new SimpleMeterRegistry());
+
+    @TempDir
+    Path imageDirectory;
+
+    private int duplicateBytes;
+
+    @Test
+    void layoutEmbedsEachDistinctPictureOnceInCompactMode() throws IOException {
+        PdfGenerationRequest request = request(imageUrls());
+
+        byte[] plain = new LayoutPdfRenderer(resources(false), STAGE_METRICS, IMAGE_FETCHER).render(request, GENERATED_AT);
+        byte[] compact = new LayoutPdfRenderer(resources(true), STAGE_METRICS, IMAGE_FETCHER).render(request, GENERATED_AT);
+
+        // One picture per URL in plain mode, one per distinct picture in compact mode
+        assertThat(imageXObjectCount(plain)).isEqualTo(3);
+        assertThat(imageXObjectCount(compact)).isEqualTo(2);
+        assertThat(compact.length).isLessThan(plain.length - duplicateBytes);
+    }
+
+    @Test
+    void htmlEmbedsEachDistinctPictureOnceInCompactMode() throws IOException {
+        PdfGenerationRequest request = request(imageUrls());
+        BrochureTemplate template = new BrochureTemplate();
+
+        byte[] plain = new HtmlPdfRenderer(template, resources(false), STAGE_METRICS, IMAGE_FETCHER).render(request, GENERATED_AT);
+        byte[] compact = new HtmlPdfRenderer(template, resources(true), STAGE_METRICS, IMAGE_FETCHER).render(request, GENERATED_AT);
+
+        assertThat(imageXObjectCount(plain)).isEqualTo(3);
+        assertThat(imageXObjectCount(compact)).isEqualTo(2);
+        assertThat(compact.length).isLessThan(plain.length - duplicateBytes);
+    }
+
+    /**
+     * Two distinct pictures behind three URLs, the third serving the same bytes as the first.
+     * Compact output leaves out at least that duplicate.
+     */
+    private List<String> imageUrls() throws IOException {
+        Path first = writeImage("first.jpg", Color.PINK);
+        Path second = writeImage("second.jpg", Color.ORANGE);
+        Path copy = Files.copy(first, imageDirectory.resolve("copy.jpg"));
+        duplicateBytes = (int) Files.size(copy);
+        return List.of(first.toUri().toString(), second.toUri().toString(), copy.toUri().toString());
+    }
+
+    private Path writeImage(String name, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 320, 240);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString(name, 20, 120);
+        graphics.dispose();
+        Path file = imageDirectory.resolve(name);
+        ImageIO.write(image, "jpg", file.toFile());
+        return file;
+    }
+
+    private static PdfRenderingResources resources(boolean compactOutput) {
+        PdfProperties properties = new PdfProperties();
+        properties.setCompactOutput(compactOutput);
+        return new PdfRenderingResources(properties);
+    }
+
+    private static PdfGenerationRequest request(List<String> imageUrls) {
+        List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            images.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId(1L)
+                    .stageName("Mandap")
+                    .imageId((long) i)
+                    .imageName("Decoration " + i)
+                    .imageUrl(imageUrls.get(i % imageUrls.size()))
+                    .description("Floral mandap with drapes and fairy lights")
+                    .build());
+        }
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName("Wedding")
+                .selectedImages(images)
+                .build();
+    }
+
+    private static int imageXObjectCount(byte[] pdf) throws IOException {
+        int count = 0;
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+                PdfObject object = document.getPdfObject(i);
+                if (object instanceof PdfStream stream && PdfName.Image.equals(stream.getAsName(PdfName.Subtype))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
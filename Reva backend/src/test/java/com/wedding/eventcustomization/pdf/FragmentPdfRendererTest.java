@@ -0,0 +1,118 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FragmentPdfRendererTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final PdfProperties properties = new PdfProperties();
+    private final PdfImageFetcher imageFetcher = new PdfImageFetcher(properties, new SimpleMeterRegistry());
+    private final LayoutPdfRenderer layoutRenderer = new LayoutPdfRenderer(new PdfRenderingResources(properties),
+            new PdfStageMetrics(new SimpleMeterRegistry()), imageFetcher);
+    private final PdfFragmentCache fragmentCache = new PdfFragmentCache(properties);
+    private final AtomicInteger fragmentRenders = new AtomicInteger();
+    private final FragmentPdfRenderer renderer = new FragmentPdfRenderer(layoutRenderer, fragmentCache, imageFetcher) {
+        @Override
+        byte[] renderFragment(PdfGenerationRequest.SelectedImage image, PdfStageMetrics.Trace trace) throws IOException {
+            fragmentRenders.incrementAndGet();
+            return super.renderFragment(image, trace);
+        }
+    };
+
+    @TempDir
+    Path imageDirectory;
+
+    @Test
+    void repeatedDecorationIsCopiedInOnce() throws IOException {
+        PdfGenerationRequest.SelectedImage mandap = image(1L, writeImage("mandap.jpg", Color.PINK));
+        PdfGenerationRequest.SelectedImage entrance = image(2L, writeImage("entrance.jpg", Color.ORANGE));
+
+        byte[] pdf = renderer.render(request(List.of(mandap, entrance, mandap)), GENERATED_AT);
+
+        assertThat(fragmentRenders).hasValue(2);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            assertThat(document.getNumberOfPages()).isEqualTo(2);
+            assertThat(xObjectCount(document, PdfName.Form)).isEqualTo(2);
+            assertThat(xObjectCount(document, PdfName.Image)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void cachedFragmentsAreReusedByLaterBrochures() throws IOException {
+        PdfGenerationRequest.SelectedImage mandap = image(1L, writeImage("mandap.jpg", Color.PINK));
+        PdfGenerationRequest.SelectedImage entrance = image(2L, writeImage("entrance.jpg", Color.ORANGE));
+        renderer.render(request(List.of(mandap, entrance)), GENERATED_AT);
+
+        byte[] pdf = renderer.render(request(List.of(entrance, mandap, entrance)), GENERATED_AT);
+
+        assertThat(fragmentRenders).hasValue(2);
+        assertThat(fragmentCache.size()).isEqualTo(2);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            assertThat(xObjectCount(document, PdfName.Form)).isEqualTo(2);
+            assertThat(xObjectCount(document, PdfName.Image)).isEqualTo(2);
+        }
+    }
+
+    private String writeImage(String name, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 320, 240);
+        graphics.dispose();
+        Path file = imageDirectory.resolve(name);
+        ImageIO.write(image, "jpg", file.toFile());
+        return file.toUri().toString();
+    }
+
+    private static PdfGenerationRequest.SelectedImage image(Long imageId, String imageUrl) {
+        return PdfGenerationRequest.SelectedImage.builder()
+                .stageId(1L)
+                .stageName("Mandap")
+                .imageId(imageId)
+                .imageName("Decoration " + imageId)
+                .imageUrl(imageUrl)
+                .build();
+    }
+
+    private static PdfGenerationRequest request(List<PdfGenerationRequest.SelectedImage> images) {
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName("Wedding")
+                .selectedImages(images)
+                .build();
+    }
+
+    private static int xObjectCount(PdfDocument document, PdfName subtype) {
+        int count = 0;
+        for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+            PdfObject object = document.getPdfObject(i);
+            if (object instanceof PdfStream stream && subtype.equals(stream.getAsName(PdfName.Subtype))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,131 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LayoutPdfRendererTest {
+
+    private static final LocalDateTime GENERATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private final PdfProperties properties = new PdfProperties();
+    private final PdfStageMetrics stageMetrics = new PdfStageMetrics(new SimpleMeterRegistry());
+    private final PdfImageFetcher imageFetcher = new PdfImageFetcher(properties, new SimpleMeterRegistry());
+    private final LayoutPdfRenderer renderer = new LayoutPdfRenderer(new PdfRenderingResources(properties), stageMetrics, imageFetcher);
+
+    @TempDir
+    Path imageDirectory;
+
+    @Test
+    void singleDecorationFitsOnePage() throws IOException {
+        String url = writeImage("mandap.jpg", Color.PINK);
+
+        byte[] pdf = renderer.render(request(List.of(url)), GENERATED_AT);
+
+        try (PdfDocument document = open(pdf)) {
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+            assertThat(document.getDocumentInfo().getTitle()).isEqualTo("Wedding Customization - Wedding");
+            assertThat(imageXObjectCount(document)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void repeatedPictureIsEmbeddedOnceAcrossPages() throws IOException {
+        String url = writeImage("mandap.jpg", Color.PINK);
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            urls.add(url);
+        }
+
+        byte[] pdf = renderer.render(request(urls), GENERATED_AT);
+
+        try (PdfDocument document = open(pdf)) {
+            assertThat(document.getNumberOfPages()).isEqualTo(4);
+            assertThat(imageXObjectCount(document)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void documentImagesShareOneXObjectPerUrlOrPerDistinctPictureInCompactMode() throws IOException {
+        String first = writeImage("first.jpg", Color.PINK);
+        String second = writeImage("second.jpg", Color.ORANGE);
+        String copy = Files.copy(imageDirectory.resolve("first.jpg"), imageDirectory.resolve("copy.jpg")).toUri().toString();
+        LayoutPdfRenderer.DocumentImages images = renderer.newDocumentImages(
+                stageMetrics.trace(PdfRenderEngine.LAYOUT, 3));
+        PdfProperties compactProperties = new PdfProperties();
+        compactProperties.setCompactOutput(true);
+        LayoutPdfRenderer.DocumentImages compactImages = new LayoutPdfRenderer(new PdfRenderingResources(compactProperties),
+                stageMetrics, imageFetcher).newDocumentImages(stageMetrics.trace(PdfRenderEngine.LAYOUT, 3));
+
+        assertThat(images.get(first)).isNotNull().isSameAs(images.get(first)).isNotSameAs(images.get(copy));
+        assertThat(compactImages.get(first)).isNotNull().isSameAs(compactImages.get(first)).isSameAs(compactImages.get(copy));
+        assertThat(images.get(second)).isNotNull().isNotSameAs(images.get(first));
+        assertThat(compactImages.get(second)).isNotNull().isNotSameAs(compactImages.get(first));
+        assertThat(images.get(null)).isNull();
+    }
+
+    private String writeImage(String name, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 320, 240);
+        graphics.dispose();
+        Path file = imageDirectory.resolve(name);
+        ImageIO.write(image, "jpg", file.toFile());
+        return file.toUri().toString();
+    }
+
+    private static PdfGenerationRequest request(List<String> imageUrls) {
+        List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>();
+        for (int i = 0; i < imageUrls.size(); i++) {
+            images.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId(1L)
+                    .stageName("Mandap")
+                    .imageId((long) i)
+                    .imageName("Decoration " + i)
+                    .imageUrl(imageUrls.get(i))
+                    .build());
+        }
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName("Wedding")
+                .selectedImages(images)
+                .build();
+    }
+
+    private static PdfDocument open(byte[] pdf) throws IOException {
+        return new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+    }
+
+    private static int imageXObjectCount(PdfDocument document) {
+        int count = 0;
+        for (int i = 1; i < document.getNumberOfPdfObjects(); i++) {
+            PdfObject object = document.getPdfObject(i);
+            if (object instanceof PdfStream stream && PdfName.Image.equals(stream.getAsName(PdfName.Subtype))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
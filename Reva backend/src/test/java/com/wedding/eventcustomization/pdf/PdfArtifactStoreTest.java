@@ -0,0 +1,192 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfArtifactStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @Test
+    void identicalDocumentsShareOneFileUntilTheirLinksExpire() throws Exception {
+        PdfArtifactStore store = new PdfArtifactStore(properties(), clock);
+        PdfContent content = PdfContent.of("%PDF-1.7 brochure".getBytes(StandardCharsets.US_ASCII));
+
+        PdfArtifactStore.Artifact first = store.store(content, "first.pdf");
+        PdfArtifactStore.Artifact second = store.store(content, "second.pdf");
+
+        assertThat(first.token()).isNotEqualTo(second.token());
+        assertThat(first.file()).isEqualTo(second.file()).exists();
+        assertThat(store.getFileCount()).isEqualTo(1);
+        assertThat(store.getDiskBytes()).isEqualTo(content.size());
+
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+        store.transferTo(second, 9, 8, range);
+        assertThat(range.toString(StandardCharsets.US_ASCII)).isEqualTo("brochure");
+
+        now = now.plus(Duration.ofMinutes(20));
+        assertThat(store.find(first.token())).isEmpty();
+        assertThat(store.getFileCount()).isZero();
+        assertThat(first.file()).doesNotExist();
+    }
+
+    @Test
+    void concurrentStoresCannotTogetherExceedTheDiskLimit() throws Exception {
+        PdfProperties properties = properties();
+        properties.getArtifacts().setMaxDiskSize(DataSize.ofBytes(300));
+        PdfArtifactStore store = new PdfArtifactStore(properties, clock);
+        CountDownLatch copying = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<PdfArtifactStore.Artifact>> stores = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                PdfContent content = blockingContent(i, copying, release);
+                stores.add(executor.submit(() -> store.store(content, "brochure.pdf")));
+            }
+            assertThat(copying.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(store.getDiskBytes()).isEqualTo(300);
+            release.countDown();
+
+            int stored = 0;
+            int rejected = 0;
+            for (Future<PdfArtifactStore.Artifact> future : stores) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    stored++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ServiceOverloadedException.class);
+                    rejected++;
+                }
+            }
+            assertThat(stored).isEqualTo(3);
+            assertThat(rejected).isEqualTo(3);
+            assertThat(store.getDiskBytes()).isEqualTo(300);
+            assertThat(store.getFileCount()).isEqualTo(3);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedCopyHandsItsReservationBack() throws Exception {
+        PdfProperties properties = properties();
+        properties.getArtifacts().setMaxDiskSize(DataSize.ofBytes(100));
+        properties.getArtifacts().setMaxLinks(1);
+        PdfArtifactStore store = new PdfArtifactStore(properties, clock);
+        PdfContent failing = new PdfContent() {
+            @Override
+            public long size() {
+                return 100;
+            }
+
+            @Override
+            public void writeTo(OutputStream outputStream) throws IOException {
+                throw new IOException("spool file vanished");
+            }
+
+            @Override
+            public byte[] toByteArray() throws IOException {
+                throw new IOException("spool file vanished");
+            }
+        };
+
+        assertThatThrownBy(() -> store.store(failing, "failed.pdf")).isInstanceOf(IOException.class);
+        assertThat(store.getDiskBytes()).isZero();
+        assertThat(store.getLinkCount()).isZero();
+
+        store.store(PdfContent.of(new byte[100]), "stored.pdf");
+        assertThatThrownBy(() -> store.store(PdfContent.of(new byte[1]), "over-limit.pdf"))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(store.getLinkCount()).isEqualTo(1);
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(1);
+        }
+    }
+
+    /**
+     * Distinct 100 byte content that signals once its copy starts and then waits for release.
+     */
+    private static PdfContent blockingContent(int index, CountDownLatch copying, CountDownLatch release) {
+        byte[] bytes = new byte[100];
+        bytes[0] = (byte) index;
+        return new PdfContent() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public void writeTo(OutputStream outputStream) throws IOException {
+                copying.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                outputStream.write(bytes);
+            }
+
+            @Override
+            public byte[] toByteArray() {
+                return bytes;
+            }
+        };
+    }
+
+    private PdfProperties properties() {
+        PdfProperties properties = new PdfProperties();
+        properties.getArtifacts().setDirectory(directory.toString());
+        properties.getArtifacts().setTtl(Duration.ofMinutes(15));
+        return properties;
+    }
+}
@@ -0,0 +1,143 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfBatchTest {
+
+    private final PdfProperties properties = new PdfProperties();
+    private PdfRenderPool renderPool;
+
+    @AfterEach
+    void shutDownPool() {
+        if (renderPool != null) {
+            renderPool.shutdown();
+        }
+    }
+
+    @Test
+    void streamsEveryDocumentAndAnErrorEntryForTheOneThatFailed() throws Exception {
+        properties.getRenderPool().setThreads(2);
+        renderPool = new PdfRenderPool(properties, new SimpleMeterRegistry());
+        CountDownLatch slowRelease = new CountDownLatch(1);
+        PdfBatch batch = new PdfBatch(List.of("haldi.pdf", "wedding.pdf", "sangeet.pdf"), List.of(
+                renderPool.submit(() -> {
+                    awaitIgnoringInterrupts(slowRelease);
+                    return pdf("haldi");
+                }),
+                renderPool.submit(() -> {
+                    throw new IOException("image host unreachable");
+                }),
+                CompletableFuture.completedFuture(pdf("sangeet"))));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        CompletableFuture<Void> streaming = CompletableFuture.runAsync(() -> {
+            try {
+                batch.writeZip(zip);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        slowRelease.countDown();
+        streaming.get(10, TimeUnit.SECONDS);
+
+        Map<String, String> entries = entries(zip.toByteArray());
+        assertThat(entries.keySet()).containsExactlyInAnyOrder("haldi.pdf", "wedding.pdf.error.txt", "sangeet.pdf");
+        assertThat(entries).containsEntry("haldi.pdf", "haldi").containsEntry("sangeet.pdf", "sangeet");
+        assertThat(entries.get("wedding.pdf.error.txt")).isEqualTo("PDF generation failed: image host unreachable");
+    }
+
+    @Test
+    void cancellingReleasesDocumentsThatFinishAfterwards() throws Exception {
+        properties.getRenderPool().setThreads(1);
+        renderPool = new PdfRenderPool(properties, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch closed = new CountDownLatch(2);
+        PdfBatch batch = new PdfBatch(List.of("running.pdf", "finished.pdf"), List.of(
+                renderPool.submit(() -> {
+                    started.countDown();
+                    awaitIgnoringInterrupts(release);
+                    return pdf("running", closed);
+                }),
+                CompletableFuture.completedFuture(pdf("finished", closed))));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        batch.cancel();
+        release.countDown();
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static RenderedPdf pdf(String content) {
+        return pdf(content, new CountDownLatch(0));
+    }
+
+    private static RenderedPdf pdf(String content, CountDownLatch closed) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return new RenderedPdf(content, new PdfContent() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public void writeTo(OutputStream outputStream) throws IOException {
+                outputStream.write(bytes);
+            }
+
+            @Override
+            public byte[] toByteArray() {
+                return bytes;
+            }
+
+            @Override
+            public void close() {
+                closed.countDown();
+            }
+        }, false, false);
+    }
+
+    /**
+     * Stands in for a render that does not react to interruption, as html2pdf does not.
+     */
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // keep rendering
+            }
+        }
+    }
+
+    private static Map<String, String> entries(byte[] zip) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+                assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+                entries.put(entry.getName(), new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,92 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.service.CatalogChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfDocumentCacheTest {
+
+    @TempDir
+    Path diskDirectory;
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void evictedEntriesAreServedFromDisk() throws IOException {
+        PdfDocumentCache cache = new PdfDocumentCache(properties(DataSize.ofBytes(10)));
+
+        cache.put("first", List.of(1L), new byte[8]);
+        cache.put("second", List.of(2L), new byte[8]);
+
+        assertThat(cache.get("first")).hasValueSatisfying(content -> assertThat(content.size()).isEqualTo(8));
+        assertThat(cache.get("second")).isPresent();
+        assertThat(pdfFiles()).hasSize(1);
+    }
+
+    @Test
+    void replacingASpooledEntryKeepsOnlyTheNewFile() throws IOException {
+        PdfDocumentCache cache = new PdfDocumentCache(properties(DataSize.ofBytes(10)));
+
+        cache.put("brochure", List.of(1L), spooled(16));
+        cache.put("brochure", List.of(1L), spooled(32));
+
+        assertThat(pdfFiles()).hasSize(1);
+        try (PdfContent content = cache.get("brochure").orElseThrow()) {
+            assertThat(content.size()).isEqualTo(32);
+        }
+    }
+
+    @Test
+    void unreadableDiskEntryIsDropped() throws IOException {
+        PdfDocumentCache cache = new PdfDocumentCache(properties(DataSize.ofBytes(10)));
+        cache.put("brochure", List.of(1L), spooled(16));
+
+        for (Path file : pdfFiles()) {
+            Files.delete(file);
+        }
+
+        assertThat(cache.get("brochure")).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void catalogChangeInvalidatesEveryEntryReferencingTheImage() {
+        PdfDocumentCache cache = new PdfDocumentCache(properties(DataSize.ofKilobytes(1)));
+        cache.put("withImage", List.of(1L, 2L), new byte[8]);
+        cache.put("withoutImage", List.of(3L), new byte[8]);
+
+        cache.onCatalogChanged(CatalogChangedEvent.forDecorationImage(1L, 1L, 2L));
+
+        assertThat(cache.get("withImage")).isEmpty();
+        assertThat(cache.get("withoutImage")).isPresent();
+    }
+
+    private PdfContent spooled(int size) throws IOException {
+        Path file = Files.write(spoolDirectory.resolve("spooled-" + size + ".pdf"), new byte[size]);
+        return FilePdfContent.open(file, () -> { });
+    }
+
+    private List<Path> pdfFiles() throws IOException {
+        try (Stream<Path> files = Files.list(diskDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".pdf")).toList();
+        }
+    }
+
+    private PdfProperties properties(DataSize maxMemorySize) {
+        PdfProperties properties = new PdfProperties();
+        properties.getCache().setMaxMemorySize(maxMemorySize);
+        properties.getCache().setDiskDirectory(diskDirectory.toString());
+        return properties;
+    }
+}
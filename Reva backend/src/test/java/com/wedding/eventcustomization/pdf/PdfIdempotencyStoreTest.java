@@ -0,0 +1,115 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfIdempotencyStoreTest {
+
+    private static final String CLIENT = "address:127.0.0.1";
+
+    private final PdfIdempotencyStore store = new PdfIdempotencyStore(new PdfProperties(), new SimpleMeterRegistry());
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void concurrentDuplicateSharesTheRenderAndLaterRetriesAreReplayed() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> execute("key-1", "wedding", () -> {
+            rendering.countDown();
+            await(release);
+            return render();
+        }));
+        assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() -> execute("key-1", "wedding", this::render));
+        // Give the duplicate time to attach to the render in flight
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("pdf-1");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("pdf-1");
+        assertThat(execute("key-1", "wedding", this::render)).isEqualTo("pdf-1");
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void failuresAreNotReplayedAndKeysCannotBeReusedForOtherRequests() {
+        assertThatThrownBy(() -> store.execute("generate", CLIENT, "key-2", "wedding", () -> {
+            throw new IOException("render failed");
+        }, String::length)).isInstanceOf(IOException.class);
+
+        assertThat(execute("key-2", "wedding", this::render)).isEqualTo("pdf-1");
+        assertThatThrownBy(() -> store.execute("generate", CLIENT, "key-2", "engagement", this::render, String::length))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(renders).hasValue(1);
+    }
+
+    @Test
+    void keysAreNotSharedBetweenClients() throws IOException {
+        assertThat(execute("key-3", "wedding", this::render)).isEqualTo("pdf-1");
+
+        assertThat(store.execute("generate", "address:10.0.0.2", "key-3", "wedding", this::render, String::length))
+                .isEqualTo("pdf-2");
+        assertThat(store.execute("generate", "address:10.0.0.2", "key-3", "wedding", this::render, String::length))
+                .isEqualTo("pdf-2");
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void unsharedResultsGoToTheFirstCallerOnly() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> executeUnshared("key-4", () -> {
+            rendering.countDown();
+            await(release);
+            return render();
+        }));
+        assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(() -> executeUnshared("key-4", this::render));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("pdf-1");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("pdf-2");
+        assertThat(executeUnshared("key-4", this::render)).isEqualTo("pdf-3");
+        assertThat(store.size()).isZero();
+    }
+
+    private String render() {
+        return "pdf-" + renders.incrementAndGet();
+    }
+
+    private String execute(String key, Object request, PdfRenderBulkhead.RenderTask<String> call) {
+        try {
+            return store.execute("generate", CLIENT, key, request, call, String::length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String executeUnshared(String key, PdfRenderBulkhead.RenderTask<String> call) {
+        try {
+            return store.execute("generate", CLIENT, key, "wedding", call, result -> PdfIdempotencyStore.NOT_SHARED);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
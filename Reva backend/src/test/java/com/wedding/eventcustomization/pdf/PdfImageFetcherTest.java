@@ -0,0 +1,45 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfImageFetcherTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Test
+    void silentHostIsCutOffAfterTheFailureThreshold() throws Exception {
+        PdfProperties properties = new PdfProperties();
+        properties.getImages().setReadTimeout(Duration.ofMillis(200));
+        properties.getImages().setFailureThreshold(2);
+        properties.getImages().setOpenDuration(Duration.ofHours(1));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PdfImageFetcher fetcher = new PdfImageFetcher(properties, meterRegistry);
+
+        // Accepts connections but never answers
+        try (ServerSocket server = new ServerSocket(0, 10, InetAddress.getLoopbackAddress())) {
+            String url = "http://127.0.0.1:" + server.getLocalPort() + "/mandap.jpg";
+            long start = System.nanoTime();
+            for (int i = 0; i < 3; i++) {
+                assertThat(fetcher.fetch(new URL(url))).startsWith(PNG_SIGNATURE);
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertThat(elapsedMillis).isLessThan(2_000);
+            assertThat(fetcher.getBreakerState("127.0.0.1")).isEqualTo(PdfImageFetcher.BreakerState.OPEN);
+            assertThat(fetcher.usedFallbackSince(List.of(url), start)).isTrue();
+            assertThat(meterRegistry.get("pdf.image.fetches").tag("outcome", "failure").counter().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("pdf.image.fetches").tag("outcome", "short_circuited").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("pdf.image.breaker.state").tag("host", "127.0.0.1").gauge().value()).isEqualTo(1);
+        }
+    }
+}
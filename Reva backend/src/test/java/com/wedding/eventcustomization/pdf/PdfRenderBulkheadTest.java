@@ -0,0 +1,59 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfRenderBulkheadTest {
+
+    @Test
+    void rejectsWhenAllSlotsAreBusyAndTheQueueIsFull() throws Exception {
+        PdfProperties properties = new PdfProperties();
+        properties.getBulkhead().setMaxConcurrentRenders(1);
+        properties.getBulkhead().setMaxQueuedRenders(0);
+        properties.getBulkhead().setRetryAfter(Duration.ofSeconds(7));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PdfRenderBulkhead bulkhead = new PdfRenderBulkhead(properties, meterRegistry);
+
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.execute(() -> {
+                    rendering.countDown();
+                    awaitQuietly(release);
+                    return "done";
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkhead.execute(() -> "rejected"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfter()).hasSeconds(7));
+        assertThat(meterRegistry.get("pdf.render.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(bulkhead.getInFlight()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfSpoolTest {
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void largeDocumentsAreServedFromASpoolFileThatIsDeletedOnClose() throws Exception {
+        PdfSpool spool = new PdfSpool(properties(DataSize.ofKilobytes(8)));
+        byte[] document = new byte[4096];
+        Arrays.fill(document, (byte) 7);
+
+        PdfSpool.Output output = spool.newOutput();
+        output.write(document);
+        output.close();
+        PdfContent content = output.toContent();
+
+        assertThat(output.isSpooled()).isTrue();
+        assertThat(spool.getDiskBytes()).isEqualTo(document.length);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        content.writeTo(written);
+        assertThat(written.toByteArray()).isEqualTo(document);
+
+        content.close();
+        assertThat(spool.getDiskBytes()).isZero();
+        try (var files = Files.list(spoolDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void documentsStayInMemoryWhileTheSpoolIsFull() throws Exception {
+        PdfSpool spool = new PdfSpool(properties(DataSize.ofBytes(3000)));
+        PdfSpool.Output first = spool.newOutput();
+        first.write(new byte[2048]);
+        first.close();
+
+        PdfSpool.Output second = spool.newOutput();
+        second.write(new byte[2048]);
+        second.close();
+
+        assertThat(first.isSpooled()).isTrue();
+        assertThat(second.isSpooled()).isFalse();
+        assertThat(second.toContent()).isInstanceOf(PdfContent.InMemory.class);
+    }
+
+    @Test
+    void filesStillBeingWrittenCountTowardsTheCap() throws Exception {
+        PdfSpool spool = new PdfSpool(properties(DataSize.ofBytes(3000)));
+        PdfSpool.Output first = spool.newOutput();
+        PdfSpool.Output second = spool.newOutput();
+
+        first.write(new byte[2048]);
+        second.write(new byte[2048]);
+
+        assertThat(first.isSpooled()).isTrue();
+        assertThat(second.isSpooled()).isFalse();
+        assertThat(spool.getDiskBytes()).isEqualTo(2048);
+        first.discard();
+        second.discard();
+        assertThat(spool.getDiskBytes()).isZero();
+    }
+
+    @Test
+    void documentOutgrowingTheCapMovesBackIntoMemory() throws Exception {
+        PdfSpool spool = new PdfSpool(properties(DataSize.ofBytes(3000)));
+        byte[] document = new byte[3500];
+        for (int i = 0; i < document.length; i++) {
+            document[i] = (byte) i;
+        }
+
+        PdfSpool.Output output = spool.newOutput();
+        output.write(document, 0, 1500);
+        assertThat(output.isSpooled()).isTrue();
+        output.write(document, 1500, 1000);
+        assertThat(spool.getDiskBytes()).isLessThanOrEqualTo(3000);
+        output.write(document, 2500, 1000);
+        output.close();
+
+        assertThat(output.isSpooled()).isFalse();
+        assertThat(spool.getDiskBytes()).isZero();
+        assertThat(output.toContent().toByteArray()).isEqualTo(document);
+        try (var files = Files.list(spoolDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private PdfProperties properties(DataSize maxDiskSize) {
+        PdfProperties properties = new PdfProperties();
+        properties.getSpool().setThreshold(DataSize.ofBytes(1024));
+        properties.getSpool().setMaxDiskSize(maxDiskSize);
+        properties.getSpool().setDirectory(spoolDirectory.toString());
+        return properties;
+    }
+}
@@ -0,0 +1,51 @@
+package com.wedding.eventcustomization.pdf;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfStageMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PdfStageMetrics stageMetrics = new PdfStageMetrics(meterRegistry);
+
+    @Test
+    void fetchesAreTimedApartFromTheStageTheyHappenIn() throws Exception {
+        PdfStageMetrics.Trace trace = stageMetrics.trace(PdfRenderEngine.HTML, 24);
+
+        trace.time(PdfStageMetrics.Stage.LAYOUT, () -> trace.time(PdfStageMetrics.Stage.FETCH_RESOURCES, () -> {
+            pause(100);
+            return null;
+        }));
+
+        assertThat(timer("fetch_resources").totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(100);
+        assertThat(timer("layout").count()).isEqualTo(1);
+        assertThat(timer("layout").totalTime(TimeUnit.MILLISECONDS)).isLessThan(50);
+    }
+
+    @Test
+    void imageCountsAreBucketed() {
+        assertThat(PdfStageMetrics.imageBucket(1)).isEqualTo("1-10");
+        assertThat(PdfStageMetrics.imageBucket(60)).isEqualTo("31-60");
+        assertThat(PdfStageMetrics.imageBucket(61)).isEqualTo("61-120");
+        assertThat(PdfStageMetrics.imageBucket(500)).isEqualTo("121+");
+    }
+
+    private static void pause(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        for (long left = end - System.nanoTime(); left > 0; left = end - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private Timer timer(String stage) {
+        return meterRegistry.get("pdf.stage.duration")
+                .tags("stage", stage, "engine", "html", "images", "11-30")
+                .timer();
+    }
+}
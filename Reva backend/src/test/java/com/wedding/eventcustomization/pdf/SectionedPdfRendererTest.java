@@ -0,0 +1,149 @@
+package com.wedding.eventcustomization.pdf;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfOutline;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SectionedPdfRendererTest {
+
+    private final PdfProperties properties = new PdfProperties();
+    private PdfRenderPool renderPool;
+
+    @TempDir
+    Path spoolDirectory;
+
+    @AfterEach
+    void shutDownPool() {
+        renderPool.shutdown();
+    }
+
+    @Test
+    void sectionsAreMergedInOrderWithOneBookmarkPerStage() throws Exception {
+        properties.getRenderPool().setThreads(2);
+        properties.getSections().setThreshold(10);
+        properties.getSections().setMaxImagesPerSection(4);
+        renderPool = new PdfRenderPool(properties, new SimpleMeterRegistry());
+        PdfRenderingResources resources = new PdfRenderingResources(properties);
+        SectionedPdfRenderer sectionedRenderer = new SectionedPdfRenderer(renderPool,
+                new PdfRenderBulkhead(properties, new SimpleMeterRegistry()), new PdfSpool(properties), resources, properties);
+        PdfGenerationRequest request = request(12);
+
+        List<BrochureSection> sections = sectionedRenderer.sections(request);
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        sectionedRenderer.render(layoutRenderer(resources), request, LocalDateTime.now(), pdf);
+
+        assertThat(sectionedRenderer.applies(request)).isTrue();
+        assertThat(sections).extracting(BrochureSection::title)
+                .containsExactly("Mandap", "Mandap (continued)", "Stage", "Entrance");
+        assertThat(sections).extracting(BrochureSection::first).containsExactly(true, false, false, false);
+        assertThat(sections).extracting(BrochureSection::last).containsExactly(false, false, false, true);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf.toByteArray())))) {
+            assertThat(document.getNumberOfPages()).isGreaterThanOrEqualTo(sections.size());
+            assertThat(document.getOutlines(false).getAllChildren()).extracting(PdfOutline::getTitle)
+                    .containsExactly("Mandap", "Stage", "Entrance");
+        }
+    }
+
+    @Test
+    void sectionsRunOnlyInFreeRenderingSlotsAndAreSpooledToDisk() throws Exception {
+        properties.getRenderPool().setThreads(4);
+        properties.getSections().setThreshold(10);
+        properties.getSections().setMaxImagesPerSection(2);
+        properties.getBulkhead().setMaxConcurrentRenders(2);
+        properties.getSpool().setThreshold(DataSize.ofBytes(256));
+        properties.getSpool().setDirectory(spoolDirectory.toString());
+        renderPool = new PdfRenderPool(properties, new SimpleMeterRegistry());
+        PdfRenderBulkhead bulkhead = new PdfRenderBulkhead(properties, new SimpleMeterRegistry());
+        PdfSpool spool = new PdfSpool(properties);
+        PdfRenderingResources resources = new PdfRenderingResources(properties);
+        SectionedPdfRenderer sectionedRenderer = new SectionedPdfRenderer(renderPool, bulkhead, spool, resources, properties);
+        PdfRenderer layout = layoutRenderer(resources);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger maxSpoolFiles = new AtomicInteger();
+        PdfRenderer counting = new PdfRenderer() {
+            @Override
+            public PdfRenderEngine engine() {
+                return layout.engine();
+            }
+
+            @Override
+            public void render(PdfGenerationRequest request, BrochureSection section, LocalDateTime generatedAt,
+                               OutputStream outputStream) throws IOException {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                maxInFlight.accumulateAndGet(bulkhead.getInFlight(), Math::max);
+                maxSpoolFiles.accumulateAndGet(spool.getFileCount(), Math::max);
+                try {
+                    layout.render(request, section, generatedAt, outputStream);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+        PdfGenerationRequest request = request(16);
+
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        bulkhead.execute(() -> {
+            sectionedRenderer.render(counting, request, LocalDateTime.now(), pdf);
+            assertThat(spool.getFileCount()).isZero();
+            return null;
+        });
+
+        assertThat(sectionedRenderer.sections(request)).hasSize(8);
+        assertThat(maxRunning.get()).isBetween(1, 2);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertThat(maxSpoolFiles.get()).isPositive();
+        assertThat(spool.getDiskBytes()).isZero();
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf.toByteArray())))) {
+            assertThat(document.getNumberOfPages()).isGreaterThanOrEqualTo(8);
+        }
+        try (var files = Files.list(spoolDirectory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private PdfRenderer layoutRenderer(PdfRenderingResources resources) {
+        return new LayoutPdfRenderer(resources, new PdfStageMetrics(new SimpleMeterRegistry()),
+                new PdfImageFetcher(properties, new SimpleMeterRegistry()));
+    }
+
+    private static PdfGenerationRequest request(int imageCount) {
+        String[] stages = {"Mandap", "Mandap", "Stage", "Entrance"};
+        List<PdfGenerationRequest.SelectedImage> images = new ArrayList<>();
+        for (int i = 0; i < imageCount; i++) {
+            int stage = i % 2 == 0 ? 0 : (i % 4 == 1 ? 2 : 3);
+            images.add(PdfGenerationRequest.SelectedImage.builder()
+                    .stageId((long) stage)
+                    .stageName(stages[stage])
+                    .imageId((long) i)
+                    .imageName("Decoration " + i)
+                    .build());
+        }
+        return PdfGenerationRequest.builder()
+                .eventId(1L)
+                .eventName("Wedding")
+                .selectedImages(images)
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+package com.wedding.eventcustomization.service;
+
+import com.wedding.eventcustomization.config.PdfProperties;
+import com.wedding.eventcustomization.dto.DecorationImageDto;
+import com.wedding.eventcustomization.dto.DecorationTypeDto;
+import com.wedding.eventcustomization.dto.EventDto;
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.exception.ServiceOverloadedException;
+import com.wedding.eventcustomization.pdf.PdfDocumentCache;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives a brochure service of its own, with a short debounce and retry, against the real
+ * catalog and renderer. It writes to the configured brochure directory, so the files it
+ * renders are the ones served under {@code /brochures/}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class EventBrochureServiceTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(200);
+    private static final Duration DEGRADED_RETRY = Duration.ofMillis(300);
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+    private static final AtomicInteger EVENT_NAMES = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private DecorationTypeService decorationTypeService;
+
+    @Autowired
+    private DecorationImageService decorationImageService;
+
+    @Autowired
+    private PdfGenerationService pdfGenerationService;
+
+    @Autowired
+    private PdfDocumentCache documentCache;
+
+    @Autowired
+    private PdfProperties pdfProperties;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @TempDir
+    Path imageDirectory;
+
+    private Path brochureDirectory;
+    private RecordingBrochureService brochures;
+
+    @BeforeEach
+    void startBrochureService() {
+        PdfProperties properties = new PdfProperties();
+        properties.getBrochures().setDirectory(pdfProperties.getBrochures().getDirectory());
+        properties.getBrochures().setDebounce(DEBOUNCE);
+        properties.getImages().setOpenDuration(DEGRADED_RETRY);
+        brochureDirectory = Paths.get(properties.getBrochures().getDirectory());
+        brochures = new RecordingBrochureService(properties);
+    }
+
+    @AfterEach
+    void stopBrochureService() {
+        brochures.shutdown();
+    }
+
+    @Test
+    void brochureIsServedWithoutFillingTheDocumentCache() throws Exception {
+        Catalog catalog = createCatalog(2);
+        int cachedDocuments = documentCache.size();
+
+        brochures.render(catalog.eventId());
+
+        Path brochure = brochureDirectory.resolve(EventBrochureService.fileName(catalog.eventId()));
+        byte[] pdf = Files.readAllBytes(brochure);
+        assertThat(new String(pdf, 0, 5)).isEqualTo("%PDF-");
+        assertThat(documentCache.size()).isEqualTo(cachedDocuments);
+        mockMvc.perform(get(EventBrochureService.URL_PATH + EventBrochureService.fileName(catalog.eventId())))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().bytes(pdf));
+        mockMvc.perform(get(EventBrochureService.URL_PATH + EventBrochureService.fileName(0L)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void burstOfChangesIsRenderedOnce() throws Exception {
+        Catalog catalog = createCatalog(1);
+
+        for (int i = 0; i < 5; i++) {
+            brochures.onCatalogChanged(CatalogChangedEvent.forEvent(catalog.eventId()));
+        }
+
+        await(() -> brochures.renders(catalog.eventId()) > 0);
+        Thread.sleep(DEBOUNCE.multipliedBy(3).toMillis());
+        assertThat(brochures.renders(catalog.eventId())).isEqualTo(1);
+        assertThat(brochureDirectory.resolve(EventBrochureService.fileName(catalog.eventId()))).exists();
+    }
+
+    @Test
+    void brochureIsRemovedOnceNoDecorationIsActive() throws Exception {
+        Catalog catalog = createCatalog(1);
+        Path brochure = brochureDirectory.resolve(EventBrochureService.fileName(catalog.eventId()));
+        brochures.render(catalog.eventId());
+        assertThat(brochure).exists();
+
+        decorationImageService.deleteDecorationImage(catalog.imageIds().get(0));
+        brochures.render(catalog.eventId());
+
+        assertThat(brochure).doesNotExist();
+    }
+
+    @Test
+    void saturatedAndDegradedRendersAreRetried() throws Exception {
+        Catalog catalog = createCatalog(1);
+        brochures.saturatedRenders.set(1);
+        brochures.degradedRenders.set(1);
+
+        brochures.render(catalog.eventId());
+
+        // Rejected, then rendered with placeholders, then rendered in full
+        await(() -> brochures.renders(catalog.eventId()) == 3);
+        Thread.sleep(DEGRADED_RETRY.multipliedBy(2).toMillis());
+        assertThat(brochures.brochureRenders).hasValue(2);
+        assertThat(brochures.renders(catalog.eventId())).isEqualTo(3);
+        assertThat(brochureDirectory.resolve(EventBrochureService.fileName(catalog.eventId()))).exists();
+    }
+
+    @Test
+    void movingDecorationsReRendersBothEvents() throws Exception {
+        Catalog from = createCatalog(2);
+        Catalog to = createCatalog(1);
+        applicationEvents.clear();
+
+        decorationImageService.updateDecorationImage(from.imageIds().get(0),
+                DecorationImageDto.builder().decorationTypeId(to.decorationTypeId()).build());
+        decorationTypeService.updateDecorationType(from.decorationTypeId(),
+                DecorationTypeDto.builder().eventId(to.eventId()).build());
+
+        List<CatalogChangedEvent> changes = applicationEvents.stream(CatalogChangedEvent.class).toList();
+        assertThat(changes).extracting(CatalogChangedEvent::eventId)
+                .containsExactlyInAnyOrder(to.eventId(), from.eventId(), to.eventId(), from.eventId());
+        changes.forEach(brochures::onCatalogChanged);
+        await(() -> brochures.renders(from.eventId()) == 1 && brochures.renders(to.eventId()) == 1);
+        assertThat(brochureDirectory.resolve(EventBrochureService.fileName(from.eventId()))).doesNotExist();
+        assertThat(brochureDirectory.resolve(EventBrochureService.fileName(to.eventId()))).exists();
+    }
+
+    private Catalog createCatalog(int images) throws IOException {
+        EventDto event = eventService.createEvent(EventDto.builder()
+                .name("Brochure Test " + EVENT_NAMES.incrementAndGet())
+                .isActive(true)
+                .build());
+        DecorationTypeDto decorationType = decorationTypeService.createDecorationType(DecorationTypeDto.builder()
+                .name("Mandap")
+                .eventId(event.getId())
+                .displayOrder(1)
+                .build());
+        List<Long> imageIds = new ArrayList<>();
+        for (int i = 0; i < images; i++) {
+            imageIds.add(decorationImageService.createDecorationImage(DecorationImageDto.builder()
+                    .name("Decoration " + i)
+                    .imageUrl(writeImage(event.getId() + "-" + i + ".jpg"))
+                    .displayOrder(i)
+                    .decorationTypeId(decorationType.getId())
+                    .build()).getId());
+        }
+        return new Catalog(event.getId(), decorationType.getId(), imageIds);
+    }
+
+    private String writeImage(String name) throws IOException {
+        BufferedImage image = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.PINK);
+        graphics.fillRect(0, 0, 64, 48);
+        graphics.dispose();
+        Path file = imageDirectory.resolve(name);
+        ImageIO.write(image, "jpg", file.toFile());
+        return file.toUri().toString();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within %s", TIMEOUT).isNegative();
+            Thread.sleep(20);
+        }
+    }
+
+    private record Catalog(Long eventId, Long decorationTypeId, List<Long> imageIds) {
+    }
+
+    /**
+     * Counts finished renders per event, and rejects or degrades the next renders on request.
+     */
+    private class RecordingBrochureService extends EventBrochureService {
+
+        private final Map<Long, AtomicInteger> renders = new ConcurrentHashMap<>();
+        private final AtomicInteger brochureRenders = new AtomicInteger();
+        private final AtomicInteger saturatedRenders = new AtomicInteger();
+        private final AtomicInteger degradedRenders = new AtomicInteger();
+
+        RecordingBrochureService(PdfProperties properties) {
+            super(eventService, decorationTypeService, decorationImageService, pdfGenerationService, properties);
+        }
+
+        int renders(Long eventId) {
+            AtomicInteger count = renders.get(eventId);
+            return count != null ? count.get() : 0;
+        }
+
+        @Override
+        void render(Long eventId) {
+            try {
+                super.render(eventId);
+            } finally {
+                renders.computeIfAbsent(eventId, id -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        @Override
+        RenderedPdf renderBrochure(PdfGenerationRequest brochure) throws IOException {
+            if (saturatedRenders.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                throw new ServiceOverloadedException("PDF rendering is at capacity", 503, Duration.ofMillis(100));
+            }
+            brochureRenders.incrementAndGet();
+            RenderedPdf pdf = super.renderBrochure(brochure);
+            if (degradedRenders.getAndUpdate(remaining -> Math.max(remaining - 1, 0)) > 0) {
+                return new RenderedPdf(pdf.fingerprint(), pdf.content(), pdf.fromCache(), true);
+            }
+            return pdf;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.wedding.eventcustomization.service;
+
+import com.wedding.eventcustomization.dto.PdfGenerationRequest;
+import com.wedding.eventcustomization.entity.DecorationImage;
+import com.wedding.eventcustomization.pdf.PdfDocumentCache;
+import com.wedding.eventcustomization.pdf.PdfGenerationEvent;
+import com.wedding.eventcustomization.pdf.RenderedPdf;
+import com.wedding.eventcustomization.repository.DecorationImageRepository;
+import com.wedding.eventcustomization.sql.SqlStatementCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compact PDF requests against the seeded catalog. Every case fails or finishes in
+ * {@link PdfGenerationService#resolveSelection}, or is served from the document cache,
+ * before anything is rendered.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PdfSelectionResolutionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PdfGenerationService pdfGenerationService;
+
+    @Autowired
+    private DecorationImageCatalog decorationImageCatalog;
+
+    @Autowired
+    private DecorationImageRepository decorationImageRepository;
+
+    @Autowired
+    private PdfDocumentCache documentCache;
+
+    @TempDir
+    Path recordingDirectory;
+
+    private Map<Long, List<DecorationImageCatalog.CatalogImage>> imagesByEvent;
+
+    @BeforeEach
+    void loadSeededCatalog() {
+        List<Long> activeIds = decorationImageRepository.findActiveIds(PageRequest.of(0, 100));
+        imagesByEvent = decorationImageCatalog.getAll(activeIds).values().stream()
+                .sorted((left, right) -> left.id().compareTo(right.id()))
+                .collect(Collectors.groupingBy(DecorationImageCatalog.CatalogImage::eventId));
+    }
+
+    @Test
+    void unknownImageIsNotFound() throws Exception {
+        Long eventId = eventWithImages(1);
+
+        mockMvc.perform(post("/api/v1/pdf/generate-base64")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(compactRequest(eventId, List.of(imageIds(eventId).get(0), 999_999L))))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Decoration image not found with id: 999999"));
+    }
+
+    @Test
+    void inactiveImageIsNotFound() throws Exception {
+        Long eventId = eventWithImages(1);
+        DecorationImage active = decorationImageRepository.findWithTypeAndEventByIdIn(imageIds(eventId)).get(0);
+        DecorationImage inactive = decorationImageRepository.save(DecorationImage.builder()
+                .name("Retired Mandap")
+                .imageUrl("https://example.com/retired-mandap.jpg")
+                .isActive(false)
+                .decorationType(active.getDecorationType())
+                .build());
+        try {
+            mockMvc.perform(post("/api/v1/pdf/generate-base64")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(compactRequest(eventId, List.of(inactive.getId()))))
+                    .andExpect(status().isNotFound());
+        } finally {
+            decorationImageRepository.delete(inactive);
+        }
+    }
+
+    @Test
+    void imageOfAnotherEventIsRejected() throws Exception {
+        List<Long> eventIds = new ArrayList<>(imagesByEvent.keySet());
+        assertThat(eventIds).hasSizeGreaterThanOrEqualTo(2);
+        Long eventId = eventIds.get(0);
+        Long foreignImageId = imageIds(eventIds.get(1)).get(0);
+
+        mockMvc.perform(post("/api/v1/pdf/generate-base64")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(compactRequest(eventId, List.of(imageIds(eventId).get(0), foreignImageId))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("ILLEGAL_ARGUMENT"));
+    }
+
+    @Test
+    void duplicateIdsCollapseInFirstSeenOrder() {
+        Long eventId = eventWithImages(2);
+        Long first = imageIds(eventId).get(0);
+        Long second = imageIds(eventId).get(1);
+
+        PdfGenerationRequest resolved = pdfGenerationService.resolveSelection(PdfGenerationRequest.builder()
+                .eventId(eventId)
+                .imageIds(List.of(second, first, second, second, first))
+                .build());
+
+        assertThat(resolved.getImageIds()).isNull();
+        assertThat(resolved.getEventName()).isEqualTo(imagesByEvent.get(eventId).get(0).eventName());
+        assertThat(resolved.getSelectedImages()).extracting(PdfGenerationRequest.SelectedImage::getImageId)
+                .containsExactly(second, first);
+    }
+
+    @Test
+    void selectionIsResolvedWithOneBatchedCatalogQuery() {
+        Long eventId = eventWithImages(3);
+        List<Long> imageIds = imageIds(eventId);
+        PdfGenerationRequest request = PdfGenerationRequest.builder()
+                .eventId(eventId)
+                .imageIds(imageIds)
+                .build();
+        decorationImageCatalog.clear();
+
+        int statements = SqlStatementCount.during(() -> assertThat(pdfGenerationService.resolveSelection(request)
+                .getSelectedImages()).hasSize(imageIds.size()));
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(SqlStatementCount.during(() -> pdfGenerationService.resolveSelection(request))).isZero();
+    }
+
+    @Test
+    void compactRequestIsRecordedAndEncodedWithoutResolvingIt() throws Exception {
+        Long eventId = eventWithImages(2);
+        List<Long> imageIds = imageIds(eventId);
+        PdfGenerationRequest request = PdfGenerationRequest.builder()
+                .eventId(eventId)
+                .imageIds(imageIds)
+                .build();
+        String fingerprint = pdfGenerationService.fingerprint(request);
+        byte[] cached = "%PDF-cached".getBytes(StandardCharsets.US_ASCII);
+        documentCache.put(fingerprint, imageIds, cached);
+
+        Path dump = recordingDirectory.resolve("generation.jfr");
+        String encoded;
+        try (Recording recording = new Recording()) {
+            recording.enable(PdfGenerationEvent.class).withoutThreshold();
+            recording.start();
+            try (RenderedPdf pdf = pdfGenerationService.generate(request, fingerprint)) {
+                assertThat(pdf.fromCache()).isTrue();
+                encoded = pdfGenerationService.encodeBase64(request, pdf);
+            }
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(encoded).isEqualTo(Base64.getEncoder().encodeToString(cached));
+        // Brochures re-rendered in the background are recorded too, on their own thread
+        long testThread = Thread.currentThread().getId();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.wedding.pdf.Generation"))
+                .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == testThread)
+                .toList();
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.getString("fingerprint")).isEqualTo(fingerprint);
+            assertThat(event.getInt("imageCount")).isEqualTo(imageIds.size());
+            assertThat(event.getBoolean("fromCache")).isTrue();
+        });
+    }
+
+    private Long eventWithImages(int minImages) {
+        return imagesByEvent.entrySet().stream()
+                .filter(entry -> entry.getValue().size() >= minImages)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No seeded event has " + minImages + " active images"));
+    }
+
+    private List<Long> imageIds(Long eventId) {
+        return imagesByEvent.get(eventId).stream().map(DecorationImageCatalog.CatalogImage::id).toList();
+    }
+
+    private static String compactRequest(Long eventId, Collection<Long> imageIds) {
+        return "{\"eventId\":" + eventId + ",\"imageIds\":" + imageIds + "}";
+    }
+}
@@ -0,0 +1,43 @@
+package com.wedding.eventcustomization.sql;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement ceilings for the catalog reads against the seeded data, several rows per list, so
+ * a mapper walking a lazy association per row breaks the build.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointSqlStatementTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @ParameterizedTest(name = "GET {0} runs at most {1} statements")
+    @CsvSource({
+            "/api/v1/events, 2",
+            "/api/v1/events/1, 2",
+            "/api/v1/events/search?name=wed, 2",
+            "/api/v1/decoration-types, 3",
+            "/api/v1/decoration-types/event/1, 3",
+            "/api/v1/decoration-types/1, 3",
+            "/api/v1/decoration-images, 3",
+            "/api/v1/decoration-images/decoration-type/1, 2",
+            "/api/v1/decoration-images/1, 2"
+    })
+    void catalogReadsStayWithinTheirStatementBudget(String uri, int maxStatements) throws Exception {
+        mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementCount.atMost(maxStatements));
+    }
+}
@@ -0,0 +1,48 @@
+package com.wedding.eventcustomization.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc expectations on the {@value SqlStatementHeaderAdvice#STATEMENT_COUNT_HEADER} header,
+ * which the test profile adds to every JSON response:
+ * <pre>
+ * mockMvc.perform(get("/api/v1/events")).andExpect(SqlStatementCount.atMost(2));
+ * </pre>
+ * A lazy association walked per row makes the count grow with the data, so a fixed ceiling
+ * fails as soon as an N+1 query creeps in.
+ */
+public final class SqlStatementCount {
+
+    private SqlStatementCount() {
+    }
+
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER);
+            assertThat(header)
+                    .as("%s header on %s", SqlStatementHeaderAdvice.STATEMENT_COUNT_HEADER, result.getRequest().getRequestURI())
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements run by %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(maxStatements);
+        };
+    }
+
+    /**
+     * Statements run by the action on the calling thread, for checks below the web layer:
+     * <pre>
+     * assertThat(SqlStatementCount.during(() -> catalog.getAll(ids))).isEqualTo(1);
+     * </pre>
+     */
+    public static int during(Runnable action) {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            action.run();
+            return stats.getStatements();
+        } finally {
+            SqlStatementStats.stop();
+        }
+    }
+}